@@ -5,6 +5,7 @@ plugins {
     id("java")
     id("maven-publish")
     alias(libs.plugins.shadow)
+    alias(libs.plugins.jmh)
 }
 
 group = "me.kubbidev"
@@ -41,6 +42,16 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter-params:5.11.4")
 }
 
+// benchmarks run outside of a server, so need the server api on their classpath
+configurations.jmhImplementation {
+    extendsFrom(configurations.compileOnly.get())
+}
+
+jmh {
+    // report allocations alongside timings
+    profilers.add("gc")
+}
+
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
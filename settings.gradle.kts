@@ -13,6 +13,7 @@ dependencyResolutionManagement {
     versionCatalogs {
         create("libs") {
             plugin("shadow", "com.gradleup.shadow").version("9.0.0-rc1")
+            plugin("jmh", "me.champeau.jmh").version("0.7.3")
         }
     }
 }
\ No newline at end of file
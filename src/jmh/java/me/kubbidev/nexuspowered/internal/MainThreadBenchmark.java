@@ -0,0 +1,72 @@
+package me.kubbidev.nexuspowered.internal;
+
+import java.util.concurrent.TimeUnit;
+import me.kubbidev.nexuspowered.promise.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lock-free main thread lookup with the synchronized lookup it replaced, from several threads at
+ * once, as promise continuations check the thread they're on.
+ *
+ * <p>Run with {@code ./gradlew jmh}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MainThreadBenchmark {
+
+    // stands in for the server thread, so none of the benchmark threads are the main thread
+    private final Thread mainThread = new Thread(() -> {
+    });
+
+    @Setup
+    public void setup() {
+        LoaderUtils.forceSetMainThread(this.mainThread);
+        SynchronizedLookup.mainThread = this.mainThread;
+    }
+
+    @TearDown
+    public void tearDown() {
+        LoaderUtils.forceSetMainThread(null);
+    }
+
+    @Benchmark
+    public boolean volatileRead() {
+        return LoaderUtils.getMainThread() == Thread.currentThread();
+    }
+
+    @Benchmark
+    public boolean synchronizedRead() {
+        return SynchronizedLookup.getMainThread() == Thread.currentThread();
+    }
+
+    @Benchmark
+    public ThreadContext forCurrentThread() {
+        return ThreadContext.forCurrentThread();
+    }
+
+    // the lookup as it was before it became lock-free
+    private static final class SynchronizedLookup {
+
+        private static Thread mainThread = null;
+
+        static synchronized Thread getMainThread() {
+            return mainThread;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package me.kubbidev.nexuspowered.time;
+
+import java.util.concurrent.TimeUnit;
+import me.kubbidev.nexuspowered.cooldown.Cooldown;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading the system time on every call with reading the time sampled once per tick by {@link TickClock},
+ * both directly and through {@link Cooldown}.
+ *
+ * <p>The {@code system} case installs the system clock as the tick clock, as it was before {@link TickClock}
+ * existed. The {@code tick} case starts the real {@link TickClock}, without a server to update it.</p>
+ *
+ * <p>Run with {@code ./gradlew jmh}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ClockBenchmark {
+
+    @Param({"system", "tick"})
+    public String clock;
+
+    @Setup
+    public void setup() {
+        if (this.clock.equals("tick")) {
+            Time.resetClock();
+            TickClock.INSTANCE.startUnscheduled();
+        } else {
+            Time.setClock(Clock.system());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        TickClock.INSTANCE.stop();
+        Time.resetClock();
+    }
+
+    @Benchmark
+    public long millis() {
+        return Time.tickMillis();
+    }
+
+    @Benchmark
+    public long nanos() {
+        return Time.tickNanos();
+    }
+
+    @Benchmark
+    public boolean cooldownTest(Cooldowns cooldowns) {
+        return cooldowns.cooldown.test();
+    }
+
+    @Benchmark
+    public long cooldownElapsed(Cooldowns cooldowns) {
+        return cooldowns.cooldown.elapsed();
+    }
+
+    // one cooldown per thread, so test() doesn't contend on a shared field
+    @State(Scope.Thread)
+    public static class Cooldowns {
+
+        private final Cooldown cooldown = Cooldown.of(1, TimeUnit.SECONDS);
+    }
+}
@@ -1,20 +1,28 @@
 package me.kubbidev.nexuspowered;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import me.kubbidev.nexuspowered.interfaces.Delegate;
 import me.kubbidev.nexuspowered.internal.LoaderUtils;
 import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.promise.Promise;
 import me.kubbidev.nexuspowered.promise.ThreadContext;
 import me.kubbidev.nexuspowered.scheduler.NexusExecutors;
 import me.kubbidev.nexuspowered.scheduler.Scheduler;
 import me.kubbidev.nexuspowered.scheduler.Task;
 import me.kubbidev.nexuspowered.scheduler.Ticks;
 import me.kubbidev.nexuspowered.scheduler.builder.TaskBuilder;
+import me.kubbidev.nexuspowered.scheduler.timings.Timings;
+import me.kubbidev.nexuspowered.util.Delegates;
 import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitScheduler;
 import org.jetbrains.annotations.NotNull;
@@ -26,8 +34,9 @@ import org.jetbrains.annotations.NotNullByDefault;
 @NotNullByDefault
 public final class Schedulers {
 
-    private static final Scheduler SYNC_SCHEDULER  = new SyncScheduler();
-    private static final Scheduler ASYNC_SCHEDULER = new AsyncScheduler();
+    private static final Scheduler SYNC_SCHEDULER    = new SyncScheduler();
+    private static final Scheduler ASYNC_SCHEDULER   = new AsyncScheduler();
+    private static final Scheduler VIRTUAL_SCHEDULER = new VirtualScheduler();
 
     private Schedulers() {
         throw new UnsupportedOperationException("This class cannot be instantiated");
@@ -64,6 +73,21 @@ public final class Schedulers {
         return ASYNC_SCHEDULER;
     }
 
+    /**
+     * Returns a "virtual" scheduler, which executes tasks on virtual threads.
+     *
+     * <p>Tasks submitted to this scheduler may block (database calls, http requests, file io)
+     * without occupying a thread from the {@link #async()} pool. It operates in the
+     * {@link ThreadContext#ASYNC} context.</p>
+     *
+     * <p>Repeating tasks are timed by the async scheduler.</p>
+     *
+     * @return a virtual thread executor instance
+     */
+    public static Scheduler virtual() {
+        return VIRTUAL_SCHEDULER;
+    }
+
     /**
      * Gets Bukkit's scheduler.
      *
@@ -82,6 +106,35 @@ public final class Schedulers {
         return TaskBuilder.newBuilder();
     }
 
+    /**
+     * Schedules a task which visits every element of the collection once every {@code intervalTicks},
+     * spreading the work evenly over the ticks of each interval.
+     *
+     * <p>The collection is read at the start of each interval, so additions and removals
+     * are reflected from the next interval onwards. If the collection is a {@link Set},
+     * elements removed part way through an interval are skipped.</p>
+     *
+     * <p>The number of elements visited each tick adapts to the measured cost of the action,
+     * so that the time spent is roughly uniform across the interval. Any elements left over
+     * are processed on the last tick of the interval.</p>
+     *
+     * <p>The action is executed on the main server thread.</p>
+     *
+     * @param elements      the elements to visit
+     * @param intervalTicks the number of ticks over which to visit every element
+     * @param action        the action to perform on each element
+     * @param <T>           the element type
+     * @return a task instance
+     */
+    public static <T> Task spread(Collection<? extends T> elements, long intervalTicks, Consumer<? super T> action) {
+        Objects.requireNonNull(elements, "elements");
+        Objects.requireNonNull(action, "action");
+        if (intervalTicks <= 0) {
+            throw new IllegalArgumentException("intervalTicks must be positive: " + intervalTicks);
+        }
+        return SYNC_SCHEDULER.runRepeating(new SpreadingConsumer<>(elements, intervalTicks, action), 0L, 1L);
+    }
+
     private static final class SyncScheduler implements Scheduler {
 
         @Override
@@ -143,6 +196,156 @@ public final class Schedulers {
         }
     }
 
+    private static final class VirtualScheduler implements Scheduler {
+
+        @Override
+        public void execute(@NotNull Runnable runnable) {
+            NexusExecutors.virtual().execute(runnable);
+        }
+
+        @NotNull
+        @Override
+        public ThreadContext getContext() {
+            return ThreadContext.ASYNC;
+        }
+
+        @NotNull
+        @Override
+        public <T> Promise<T> supply(@NotNull Supplier<T> supplier) {
+            Objects.requireNonNull(supplier, "supplier");
+            return Promise.supplyingVirtual(supplier);
+        }
+
+        @NotNull
+        @Override
+        public <T> Promise<T> call(@NotNull Callable<T> callable) {
+            Objects.requireNonNull(callable, "callable");
+            return Promise.supplyingExceptionallyVirtual(callable);
+        }
+
+        @NotNull
+        @Override
+        public Promise<Void> run(@NotNull Runnable runnable) {
+            Objects.requireNonNull(runnable, "runnable");
+            return Promise.supplyingVirtual(Delegates.runnableToSupplier(runnable));
+        }
+
+        @NotNull
+        @Override
+        public Task runRepeating(@NotNull Consumer<Task> consumer, long delayTicks, long intervalTicks) {
+            return ASYNC_SCHEDULER.runRepeating(consumer, delayTicks, intervalTicks);
+        }
+
+        @NotNull
+        @Override
+        public Task runRepeating(@NotNull Consumer<Task> consumer, long delay, @NotNull TimeUnit delayUnit,
+                                 long interval, @NotNull TimeUnit intervalUnit) {
+            return ASYNC_SCHEDULER.runRepeating(consumer, delay, delayUnit, interval, intervalUnit);
+        }
+    }
+
+    private static final class SpreadingConsumer<T> implements Consumer<Task>, Delegate<Consumer<? super T>> {
+
+        // weight given to the most recent per element cost sample
+        private static final double COST_SMOOTHING = 0.2;
+
+        private final Collection<? extends T> elements;
+        private final Consumer<? super T>     action;
+        private final long                    intervalTicks;
+        private final boolean                 checkMembership;
+
+        // the elements of the current interval, reused between intervals
+        private Object[] snapshot = new Object[16];
+        private int      snapshotSize;
+        private int      cursor;
+        private long     tick;
+
+        // smoothed cost of a single call to the action, in nanoseconds
+        private double costPerElement;
+
+        private SpreadingConsumer(Collection<? extends T> elements, long intervalTicks, Consumer<? super T> action) {
+            this.elements = elements;
+            this.action = action;
+            this.intervalTicks = intervalTicks;
+            this.checkMembership = elements instanceof Set<?>;
+        }
+
+        @Override
+        public Consumer<? super T> delegate() {
+            return this.action;
+        }
+
+        @Override
+        public void accept(Task task) {
+            if (this.tick == 0) {
+                takeSnapshot();
+            }
+
+            int remaining = this.snapshotSize - this.cursor;
+            if (remaining > 0) {
+                long ticksLeft = this.intervalTicks - this.tick;
+                if (ticksLeft <= 1 || this.costPerElement == 0) {
+                    // last tick of the interval, or no measurements yet - fall back to an even split
+                    process(ticksLeft <= 1 ? remaining : (int) Math.ceil((double) remaining / ticksLeft), 0L);
+                } else {
+                    process(remaining, (long) (this.costPerElement * remaining / ticksLeft));
+                }
+            }
+
+            if (++this.tick >= this.intervalTicks) {
+                this.tick = 0;
+            }
+        }
+
+        private void process(int max, long budgetNanos) {
+            long start = System.nanoTime();
+            int processed = 0;
+            while (processed < max) {
+                @SuppressWarnings("unchecked")
+                T element = (T) this.snapshot[this.cursor];
+                this.snapshot[this.cursor++] = null;
+                processed++;
+
+                if (!this.checkMembership || this.elements.contains(element)) {
+                    try {
+                        this.action.accept(element);
+                    } catch (Throwable e) {
+                        NexusExceptions.reportScheduler(e);
+                    }
+                }
+
+                if (budgetNanos != 0 && System.nanoTime() - start >= budgetNanos) {
+                    break;
+                }
+            }
+
+            double sample = (double) (System.nanoTime() - start) / processed;
+            this.costPerElement = this.costPerElement == 0
+                ? sample
+                : this.costPerElement + COST_SMOOTHING * (sample - this.costPerElement);
+        }
+
+        private void takeSnapshot() {
+            // clear any elements left over from the previous interval
+            Arrays.fill(this.snapshot, this.cursor, this.snapshotSize, null);
+
+            int size = this.elements.size();
+            if (this.snapshot.length < size) {
+                this.snapshot = new Object[Math.max(size, this.snapshot.length * 2)];
+            }
+
+            int i = 0;
+            for (T element : this.elements) {
+                if (i == this.snapshot.length) {
+                    this.snapshot = Arrays.copyOf(this.snapshot, i * 2);
+                }
+                this.snapshot[i++] = element;
+            }
+            this.snapshotSize = i;
+            this.cursor = 0;
+        }
+    }
+
     private static class NexusTask extends BukkitRunnable implements Task, Delegate<Consumer<Task>> {
 
         private final Consumer<Task> backingTask;
@@ -161,11 +364,14 @@ public final class Schedulers {
                 return;
             }
 
+            long startedAt = Timings.start();
             try {
                 this.backingTask.accept(this);
                 this.counter.incrementAndGet();
             } catch (Throwable e) {
                 NexusExceptions.reportScheduler(e);
+            } finally {
+                Timings.record(this.backingTask, -1, startedAt);
             }
 
             if (this.cancelled.get()) {
@@ -221,11 +427,14 @@ public final class Schedulers {
                 return;
             }
 
+            long startedAt = Timings.start();
             try {
                 this.backingTask.accept(this);
                 this.counter.incrementAndGet();
             } catch (Throwable e) {
                 NexusExceptions.reportScheduler(e);
+            } finally {
+                Timings.record(this.backingTask, -1, startedAt);
             }
         }
 
@@ -0,0 +1,872 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import me.kubbidev.nexuspowered.time.Time;
+import me.kubbidev.nexuspowered.util.Log;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A loading cache with a bounded size or weight.
+ *
+ * <p>Unlike {@link LoadingMap}, entries are evicted once the cache grows beyond its maximum, and may expire a fixed
+ * time after they were written or last accessed.</p>
+ *
+ * <p>The cache is split into independently locked segments, each of which holds an equal share of the maximum.
+ * Values are loaded while holding the lock of the key's segment, so each key is loaded at most once at a time,
+ * but a slow loader will hold up other keys in the same segment.</p>
+ *
+ * <p>With the {@link Policy#TINY_LFU} policy (the default), new entries are placed in a small LRU window, and only
+ * admitted to the main region if they have been accessed more often than the entry they would replace. Access
+ * frequencies are estimated with a compact count-min sketch which is periodically halved, so that entries which
+ * were once popular eventually age out. This keeps one-off lookups, such as a scan over every key, from flushing
+ * the entries which are used all the time.</p>
+ *
+ * <p>Expired entries are removed when they are found by a lookup, when a write finds them at the head of a
+ * segment, or by {@link #cleanUp()}.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class BoundedLoadingMap<K, V> implements CacheStats {
+
+    private static final int MAX_SEGMENTS = 1 << 16;
+
+    private final Function<? super K, ? extends V>      loader;
+    private final Weigher<? super K, ? super V>         weigher;
+    private final RemovalListener<? super K, ? super V> listener;
+    private final long                                  expireAfterWriteNanos;
+    private final long                                  expireAfterAccessNanos;
+    private final Segment[]                             segments;
+    private final int                                   segmentShift;
+    private final StatsCounter                          stats;
+
+    @SuppressWarnings("unchecked")
+    private BoundedLoadingMap(Builder<K, V> builder, Function<? super K, ? extends V> loader) {
+        this.loader = loader;
+        this.weigher = builder.weigher;
+        this.listener = builder.listener;
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.stats = builder.recordStats ? new StatsCounter() : StatsCounter.disabled();
+
+        // don't split small caches so finely that each segment can only hold a handful of entries
+        int segmentCount = 1;
+        while (segmentCount < builder.concurrencyLevel && segmentCount < MAX_SEGMENTS
+            && builder.maximumWeight / (segmentCount * 2L) >= 16) {
+            segmentCount <<= 1;
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+
+        // share out the remainder, so the segment limits add up to exactly the maximum weight
+        long segmentWeight = builder.maximumWeight / segmentCount;
+        long remainder = builder.maximumWeight % segmentCount;
+        this.segments = new BoundedLoadingMap.Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long maximumWeight = builder.maximumWeight == Long.MAX_VALUE
+                ? Long.MAX_VALUE
+                : segmentWeight + (i < remainder ? 1 : 0);
+            this.segments[i] = new Segment(maximumWeight, builder.policy);
+        }
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Gets the value for the given key, loading it if it isn't present.
+     *
+     * @param key the key
+     * @return the value, or null if the loader returned null
+     */
+    public @Nullable V get(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+
+        V value;
+        List<Removal<K, V>> removals;
+        segment.lock.lock();
+        try {
+            value = segment.get(key, hash, true);
+            removals = segment.drainRemovals();
+        } finally {
+            segment.lock.unlock();
+        }
+        notifyRemovals(removals);
+        return value;
+    }
+
+    /**
+     * Gets the value for the given key, if present, without loading it.
+     *
+     * @param key the key
+     * @return the value, or null
+     */
+    public @Nullable V getIfPresent(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+
+        V value;
+        List<Removal<K, V>> removals;
+        segment.lock.lock();
+        try {
+            value = segment.get(key, hash, false);
+            removals = segment.drainRemovals();
+        } finally {
+            segment.lock.unlock();
+        }
+        notifyRemovals(removals);
+        return value;
+    }
+
+    /**
+     * Associates the value with the given key, replacing any existing value.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(@NotNull K key, @NotNull V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        int hash = spread(key.hashCode());
+        Segment segment = segmentFor(hash);
+
+        List<Removal<K, V>> removals;
+        segment.lock.lock();
+        try {
+            segment.put(key, value, Time.tickNanos());
+            removals = segment.drainRemovals();
+        } finally {
+            segment.lock.unlock();
+        }
+        notifyRemovals(removals);
+    }
+
+    /**
+     * Removes the value for the given key.
+     *
+     * @param key the key
+     */
+    public void invalidate(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+        Segment segment = segmentFor(spread(key.hashCode()));
+
+        List<Removal<K, V>> removals;
+        segment.lock.lock();
+        try {
+            segment.remove(key);
+            removals = segment.drainRemovals();
+        } finally {
+            segment.lock.unlock();
+        }
+        notifyRemovals(removals);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void invalidateAll() {
+        for (Segment segment : this.segments) {
+            List<Removal<K, V>> removals;
+            segment.lock.lock();
+            try {
+                segment.clear();
+                removals = segment.drainRemovals();
+            } finally {
+                segment.lock.unlock();
+            }
+            notifyRemovals(removals);
+        }
+    }
+
+    /**
+     * Removes every expired entry.
+     */
+    public void cleanUp() {
+        long now = Time.tickNanos();
+        for (Segment segment : this.segments) {
+            List<Removal<K, V>> removals;
+            segment.lock.lock();
+            try {
+                segment.expireAll(now);
+                removals = segment.drainRemovals();
+            } finally {
+                segment.lock.unlock();
+            }
+            notifyRemovals(removals);
+        }
+    }
+
+    /**
+     * Gets the number of entries in the cache, including any which have expired but not yet been removed.
+     *
+     * @return the number of entries
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : this.segments) {
+            segment.lock.lock();
+            try {
+                size += segment.window.size() + segment.main.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the total weight of the entries in the cache.
+     *
+     * @return the total weight
+     */
+    public long getWeightedSize() {
+        long weight = 0;
+        for (Segment segment : this.segments) {
+            segment.lock.lock();
+            try {
+                weight += segment.windowWeight + segment.mainWeight;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return weight;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return size();
+    }
+
+    private Segment segmentFor(int hash) {
+        return this.segments.length == 1 ? this.segments[0] : this.segments[hash >>> this.segmentShift];
+    }
+
+    private void notifyRemovals(@Nullable List<Removal<K, V>> removals) {
+        if (removals == null) {
+            return;
+        }
+        for (Removal<K, V> removal : removals) {
+            try {
+                this.listener.onRemoval(removal.key, removal.value, removal.cause);
+            } catch (Throwable t) {
+                Log.severe("Exception thrown by cache removal listener", t);
+            }
+        }
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * The policy used to choose which entries to evict.
+     */
+    public enum Policy {
+
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Admits new entries through a small LRU window, and then only if they are used more often than the entry
+         * they would replace.
+         */
+        TINY_LFU
+    }
+
+    /**
+     * The reason an entry was removed.
+     */
+    public enum RemovalCause {
+
+        /**
+         * The entry was removed by {@link #invalidate(Object)} or {@link #invalidateAll()}.
+         */
+        EXPLICIT,
+
+        /**
+         * The entry's value was replaced by {@link #put(Object, Object)}.
+         */
+        REPLACED,
+
+        /**
+         * The entry expired.
+         */
+        EXPIRED,
+
+        /**
+         * The entry was evicted to keep the cache within its maximum.
+         */
+        SIZE;
+
+        /**
+         * Gets whether the entry was removed automatically, rather than by the user.
+         *
+         * @return true if the entry was evicted
+         */
+        public boolean wasEvicted() {
+            return this == EXPIRED || this == SIZE;
+        }
+    }
+
+    @FunctionalInterface
+    public interface RemovalListener<K, V> {
+
+        /**
+         * Called after an entry is removed from the cache, outside of any lock.
+         *
+         * @param key   the key
+         * @param value the value
+         * @param cause the reason the entry was removed
+         */
+        void onRemoval(@NotNull K key, @NotNull V value, @NotNull RemovalCause cause);
+    }
+
+    @FunctionalInterface
+    public interface Weigher<K, V> {
+
+        /**
+         * Gets the weight of an entry. Weights are calculated when an entry is written, and must not be negative.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return the weight
+         */
+        int weigh(@NotNull K key, @NotNull V value);
+    }
+
+    private record Removal<K, V>(K key, V value, RemovalCause cause) {
+
+    }
+
+    private static final class Node<V> {
+
+        private V    value;
+        private int  weight;
+        private long writeTime;
+        private long accessTime;
+
+        private Node(V value, int weight, long now) {
+            this.value = value;
+            this.weight = weight;
+            this.writeTime = now;
+            this.accessTime = now;
+        }
+    }
+
+    /**
+     * A part of the cache guarded by a single lock. All methods must be called while holding the lock.
+     */
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // both maps are in access order, so the eldest entry is the least recently used
+        private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<K, Node<V>> main   = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final @Nullable FrequencySketch sketch;
+        private final long                      maxWindowWeight;
+        private final long                      maxMainWeight;
+
+        private long windowWeight = 0;
+        private long mainWeight   = 0;
+
+        private @Nullable List<Removal<K, V>> removals = null;
+
+        private Segment(long maxWeight, Policy policy) {
+            // an unbounded cache never evicts, so there is nothing for the sketch to decide
+            if (policy == Policy.TINY_LFU && maxWeight > 1 && maxWeight != Long.MAX_VALUE) {
+                this.sketch = new FrequencySketch(maxWeight);
+                this.maxWindowWeight = Math.max(1, maxWeight / 100);
+            } else {
+                this.sketch = null;
+                this.maxWindowWeight = 0;
+            }
+            this.maxMainWeight = maxWeight - this.maxWindowWeight;
+        }
+
+        private V get(K key, int hash, boolean load) {
+            if (this.sketch != null) {
+                this.sketch.increment(hash);
+            }
+
+            long now = Time.tickNanos();
+            Node<V> node = this.window.get(key);
+            boolean inWindow = node != null;
+            if (node == null) {
+                node = this.main.get(key);
+            }
+
+            if (node != null) {
+                if (!isExpired(node, now)) {
+                    node.accessTime = now;
+                    BoundedLoadingMap.this.stats.recordHit();
+                    return node.value;
+                }
+                removeNode(key, node, inWindow, RemovalCause.EXPIRED);
+            }
+
+            BoundedLoadingMap.this.stats.recordMiss();
+            if (!load) {
+                return null;
+            }
+
+            V value = BoundedLoadingMap.this.stats.load(key, BoundedLoadingMap.this.loader);
+            if (value != null) {
+                put(key, value, Time.tickNanos());
+            }
+            return value;
+        }
+
+        private void put(K key, V value, long now) {
+            int weight = weigh(key, value);
+
+            Node<V> node = this.window.get(key);
+            boolean inWindow = node != null;
+            if (node == null) {
+                node = this.main.get(key);
+            }
+
+            if (node != null) {
+                V old = node.value;
+                RemovalCause cause = isExpired(node, now) ? RemovalCause.EXPIRED : RemovalCause.REPLACED;
+                if (inWindow) {
+                    this.windowWeight += weight - node.weight;
+                } else {
+                    this.mainWeight += weight - node.weight;
+                }
+                node.value = value;
+                node.weight = weight;
+                node.writeTime = now;
+                node.accessTime = now;
+                if (old != value) {
+                    addRemoval(key, old, cause);
+                }
+            } else {
+                node = new Node<>(value, weight, now);
+                if (this.maxWindowWeight > 0) {
+                    this.window.put(key, node);
+                    this.windowWeight += weight;
+                } else {
+                    this.main.put(key, node);
+                    this.mainWeight += weight;
+                }
+            }
+
+            expireEldest(now);
+            evict(this.maxWindowWeight > 0 ? null : key);
+        }
+
+        private void remove(Object key) {
+            Node<V> node = this.window.remove(key);
+            if (node != null) {
+                this.windowWeight -= node.weight;
+            } else {
+                node = this.main.remove(key);
+                if (node == null) {
+                    return;
+                }
+                this.mainWeight -= node.weight;
+            }
+            addRemoval(castKey(key), node.value, RemovalCause.EXPLICIT);
+        }
+
+        private void clear() {
+            for (Map.Entry<K, Node<V>> e : this.window.entrySet()) {
+                addRemoval(e.getKey(), e.getValue().value, RemovalCause.EXPLICIT);
+            }
+            for (Map.Entry<K, Node<V>> e : this.main.entrySet()) {
+                addRemoval(e.getKey(), e.getValue().value, RemovalCause.EXPLICIT);
+            }
+            this.window.clear();
+            this.main.clear();
+            this.windowWeight = 0;
+            this.mainWeight = 0;
+        }
+
+        private void expireAll(long now) {
+            if (!expires()) {
+                return;
+            }
+            expireAll(this.window, now, true);
+            expireAll(this.main, now, false);
+        }
+
+        private void expireAll(LinkedHashMap<K, Node<V>> map, long now, boolean window) {
+            for (Iterator<Map.Entry<K, Node<V>>> it = map.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<K, Node<V>> e = it.next();
+                Node<V> node = e.getValue();
+                if (isExpired(node, now)) {
+                    it.remove();
+                    subtractWeight(node, window);
+                    addRemoval(e.getKey(), node.value, RemovalCause.EXPIRED);
+                }
+            }
+        }
+
+        /**
+         * Removes expired entries from the least recently used end of each region. This finds every expired
+         * entry when only expire-after-access is used, and most of them otherwise.
+         */
+        private void expireEldest(long now) {
+            if (!expires()) {
+                return;
+            }
+            expireEldest(this.window, now, true);
+            expireEldest(this.main, now, false);
+        }
+
+        private void expireEldest(LinkedHashMap<K, Node<V>> map, long now, boolean window) {
+            for (Iterator<Map.Entry<K, Node<V>>> it = map.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<K, Node<V>> e = it.next();
+                Node<V> node = e.getValue();
+                if (!isExpired(node, now)) {
+                    return;
+                }
+                it.remove();
+                subtractWeight(node, window);
+                addRemoval(e.getKey(), node.value, RemovalCause.EXPIRED);
+            }
+        }
+
+        /**
+         * Moves entries which overflow the window into the main region, and evicts entries from the main region
+         * until it is back within its maximum.
+         *
+         * @param candidate the key of the entry which was just added to the main region, if any
+         */
+        private void evict(@Nullable K candidate) {
+            while (this.windowWeight > this.maxWindowWeight) {
+                Iterator<Map.Entry<K, Node<V>>> it = this.window.entrySet().iterator();
+                Map.Entry<K, Node<V>> eldest = it.next();
+                it.remove();
+                Node<V> node = eldest.getValue();
+                this.windowWeight -= node.weight;
+                this.main.put(eldest.getKey(), node);
+                this.mainWeight += node.weight;
+                candidate = eldest.getKey();
+                evictMain(candidate);
+            }
+            evictMain(candidate);
+        }
+
+        private void evictMain(@Nullable K candidate) {
+            while (this.mainWeight > this.maxMainWeight) {
+                Map.Entry<K, Node<V>> victim = this.main.entrySet().iterator().next();
+                K key = victim.getKey();
+
+                // the candidate has to be used more often than the victim to take its place
+                if (this.sketch != null && candidate != null && !candidate.equals(key)) {
+                    int candidateFrequency = this.sketch.frequency(spread(candidate.hashCode()));
+                    int victimFrequency = this.sketch.frequency(spread(key.hashCode()));
+                    if (candidateFrequency <= victimFrequency) {
+                        key = candidate;
+                    }
+                }
+                if (key == candidate) {
+                    candidate = null;
+                }
+
+                Node<V> node = this.main.remove(key);
+                this.mainWeight -= node.weight;
+                addRemoval(key, node.value, RemovalCause.SIZE);
+            }
+        }
+
+        private void removeNode(K key, Node<V> node, boolean window, RemovalCause cause) {
+            if (window) {
+                this.window.remove(key);
+            } else {
+                this.main.remove(key);
+            }
+            subtractWeight(node, window);
+            addRemoval(key, node.value, cause);
+        }
+
+        private void subtractWeight(Node<V> node, boolean window) {
+            if (window) {
+                this.windowWeight -= node.weight;
+            } else {
+                this.mainWeight -= node.weight;
+            }
+        }
+
+        private void addRemoval(K key, V value, RemovalCause cause) {
+            if (cause.wasEvicted()) {
+                BoundedLoadingMap.this.stats.recordEviction();
+            }
+            if (BoundedLoadingMap.this.listener == null) {
+                return;
+            }
+            if (this.removals == null) {
+                this.removals = new ArrayList<>(4);
+            }
+            this.removals.add(new Removal<>(key, value, cause));
+        }
+
+        private @Nullable List<Removal<K, V>> drainRemovals() {
+            List<Removal<K, V>> removals = this.removals;
+            this.removals = null;
+            return removals;
+        }
+
+        @SuppressWarnings("unchecked")
+        private K castKey(Object key) {
+            return (K) key;
+        }
+    }
+
+    private boolean expires() {
+        return this.expireAfterWriteNanos != 0 || this.expireAfterAccessNanos != 0;
+    }
+
+    private boolean isExpired(Node<V> node, long now) {
+        return (this.expireAfterWriteNanos != 0 && now - node.writeTime >= this.expireAfterWriteNanos)
+            || (this.expireAfterAccessNanos != 0 && now - node.accessTime >= this.expireAfterAccessNanos);
+    }
+
+    private int weigh(K key, V value) {
+        if (this.weigher == null) {
+            return 1;
+        }
+        int weight = this.weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("negative weight " + weight + " for key " + key);
+        }
+        return weight;
+    }
+
+    /**
+     * Estimates how often keys have been accessed, using a count-min sketch of 4-bit counters.
+     *
+     * <p>Once the number of recorded accesses reaches ten times the table size, every counter is halved, so that
+     * the estimates favour recent accesses.</p>
+     */
+    private static final class FrequencySketch {
+
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private final long[] table;
+        private final int    tableMask;
+        private final int    sampleSize;
+        private       int    size = 0;
+
+        private FrequencySketch(long maximumWeight) {
+            // each long holds 16 counters, and each key uses 4 of them
+            int capacity = (int) Math.min(maximumWeight, 1 << 16);
+            int length = Math.max(4, Integer.highestOneBit(Math.max(1, capacity) - 1) << 1);
+            this.table = new long[length];
+            this.tableMask = length - 1;
+            this.sampleSize = 10 * length;
+        }
+
+        private int frequency(int hash) {
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((this.table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private void increment(int hash) {
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int offset = (start + i) << 2;
+                long mask = 0xfL << offset;
+                if ((this.table[index] & mask) != mask) {
+                    this.table[index] += 1L << offset;
+                    added = true;
+                }
+            }
+            if (added && ++this.size == this.sampleSize) {
+                reset();
+            }
+        }
+
+        private int indexOf(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h & this.tableMask;
+        }
+
+        private void reset() {
+            for (int i = 0; i < this.table.length; i++) {
+                this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+            }
+            this.size >>>= 1;
+        }
+    }
+
+    public static final class Builder<K, V> {
+
+        private long                                  maximumWeight          = Long.MAX_VALUE;
+        private Weigher<? super K, ? super V>         weigher                = null;
+        private Policy                                policy                 = Policy.TINY_LFU;
+        private long                                  expireAfterWriteNanos  = 0;
+        private long                                  expireAfterAccessNanos = 0;
+        private int                                   concurrencyLevel       = 16;
+        private RemovalListener<? super K, ? super V> listener               = null;
+        private boolean                               recordStats            = false;
+
+        private Builder() {
+
+        }
+
+        /**
+         * Sets the maximum number of entries. Defaults to unbounded.
+         *
+         * @param maximumSize the maximum number of entries
+         * @return this builder
+         */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            Preconditions.checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+            Preconditions.checkState(this.weigher == null, "maximum weight already set");
+            this.maximumWeight = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the entries.
+         *
+         * @param maximumWeight the maximum weight
+         * @param weigher       the function to weigh entries
+         * @return this builder
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight, @NotNull Weigher<? super K, ? super V> weigher) {
+            Preconditions.checkArgument(maximumWeight >= 0, "maximumWeight must not be negative");
+            this.maximumWeight = maximumWeight;
+            this.weigher = Objects.requireNonNull(weigher, "weigher");
+            return this;
+        }
+
+        /**
+         * Sets the eviction policy. Defaults to {@link Policy#TINY_LFU}.
+         *
+         * @param policy the policy
+         * @return this builder
+         */
+        public Builder<K, V> policy(@NotNull Policy policy) {
+            this.policy = Objects.requireNonNull(policy, "policy");
+            return this;
+        }
+
+        /**
+         * Expires entries once the given duration has passed since they were written.
+         *
+         * @param duration the duration
+         * @param unit     the unit of the duration
+         * @return this builder
+         */
+        public Builder<K, V> expireAfterWrite(long duration, @NotNull TimeUnit unit) {
+            Preconditions.checkArgument(duration > 0);
+            this.expireAfterWriteNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Expires entries once the given duration has passed since they were last read or written.
+         *
+         * @param duration the duration
+         * @param unit     the unit of the duration
+         * @return this builder
+         */
+        public Builder<K, V> expireAfterAccess(long duration, @NotNull TimeUnit unit) {
+            Preconditions.checkArgument(duration > 0);
+            this.expireAfterAccessNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Sets the number of independently locked segments the cache is split into. Rounded up to a power of two,
+         * and reduced for small caches. Defaults to 16.
+         *
+         * @param concurrencyLevel the number of segments
+         * @return this builder
+         */
+        public Builder<K, V> concurrencyLevel(int concurrencyLevel) {
+            Preconditions.checkArgument(concurrencyLevel > 0);
+            this.concurrencyLevel = concurrencyLevel;
+            return this;
+        }
+
+        /**
+         * Sets a listener to be notified when entries are removed.
+         *
+         * @param listener the listener
+         * @return this builder
+         */
+        public Builder<K, V> removalListener(@NotNull RemovalListener<? super K, ? super V> listener) {
+            this.listener = Objects.requireNonNull(listener, "listener");
+            return this;
+        }
+
+        /**
+         * Records the statistics reported through {@link CacheStats}, which are otherwise all zero.
+         *
+         * @return this builder
+         */
+        public Builder<K, V> recordStats() {
+            this.recordStats = true;
+            return this;
+        }
+
+        public BoundedLoadingMap<K, V> build(@NotNull Function<? super K, ? extends V> loader) {
+            return new BoundedLoadingMap<>(this, Objects.requireNonNull(loader, "loader"));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package me.kubbidev.nexuspowered.cache;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -12,10 +13,11 @@ import java.util.function.Supplier;
  *
  * @param <T> the supplied type
  */
-public final class Cache<T> implements Supplier<T> {
+public final class Cache<T> implements Supplier<T>, CacheStats {
 
-    private final    Supplier<T> supplier;
-    private volatile T           value = null;
+    private final    Supplier<T>  supplier;
+    private volatile StatsCounter stats = StatsCounter.disabled();
+    private volatile T            value = null;
 
     private Cache(Supplier<T> supplier) {
         this.supplier = supplier;
@@ -25,6 +27,18 @@ public final class Cache<T> implements Supplier<T> {
         return new Cache<>(Objects.requireNonNull(supplier, "supplier"));
     }
 
+    /**
+     * Creates a keyed equivalent, which shares one loader and one set of locks between all of its keys.
+     *
+     * @param loader the function to load values
+     * @param <K>    the key type
+     * @param <V>    the value type
+     * @return a new lazy map
+     */
+    public static <K, V> LazyMap<K, V> keyed(Function<? super K, ? extends V> loader) {
+        return LazyMap.of(loader);
+    }
+
     @Override
     public T get() {
         T value = this.value;
@@ -34,12 +48,15 @@ public final class Cache<T> implements Supplier<T> {
             synchronized (this) {
                 value = this.value;
                 if (value == null) {
-                    value = this.supplier.get();
+                    this.stats.recordMiss();
+                    value = this.stats.load(this.supplier);
                     this.value = value;
+                    return value;
                 }
             }
         }
 
+        this.stats.recordHit();
         return value;
     }
 
@@ -50,4 +67,53 @@ public final class Cache<T> implements Supplier<T> {
     public Optional<T> getIfPresent() {
         return Optional.ofNullable(this.value);
     }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized Cache<T> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return this.value == null ? 0 : 1;
+    }
 }
\ No newline at end of file
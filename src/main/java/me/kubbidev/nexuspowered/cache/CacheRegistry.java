@@ -0,0 +1,183 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import me.kubbidev.nexuspowered.gson.GsonBuilder;
+import me.kubbidev.nexuspowered.util.Log;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A global registry of named caches, for monitoring.
+ *
+ * <p>Each registered cache is exposed over JMX as a {@link CacheStatsMXBean} named
+ * {@code me.kubbidev.nexuspowered:type=Cache,name="<name>"}, and included in {@link #export()}.</p>
+ *
+ * <p>The registry holds a strong reference to each cache, so caches belonging to a plugin should be unregistered
+ * when it disables - for example by binding {@code () -> CacheRegistry.unregister(name)} to the plugin.</p>
+ */
+public final class CacheRegistry {
+
+    private static final String DOMAIN = "me.kubbidev.nexuspowered";
+
+    private static final Map<String, CacheStats> CACHES = new ConcurrentHashMap<>();
+
+    private CacheRegistry() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Registers a cache under the given name, replacing any cache already registered with it.
+     *
+     * <p>The cache should record statistics - see {@link CacheStats} - otherwise every count will be zero.</p>
+     *
+     * @param name  the name
+     * @param cache the cache
+     * @param <C>   the cache type
+     * @return the cache
+     */
+    public static synchronized <C extends CacheStats> @NotNull C register(@NotNull String name, @NotNull C cache) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(cache, "cache");
+        Preconditions.checkArgument(!name.isEmpty(), "name is empty");
+
+        CacheStats previous = CACHES.put(name, cache);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(name);
+            if (previous != null && server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(new MXBean(name, cache), objectName);
+        } catch (JMException e) {
+            Log.warn("Unable to expose cache '" + name + "' over JMX", e);
+        }
+        return cache;
+    }
+
+    /**
+     * Unregisters the cache with the given name.
+     *
+     * @param name the name
+     * @return true if a cache was registered with the name
+     */
+    public static synchronized boolean unregister(@NotNull String name) {
+        Objects.requireNonNull(name, "name");
+        if (CACHES.remove(name) == null) {
+            return false;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            Log.warn("Unable to remove cache '" + name + "' from JMX", e);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the cache registered with the given name.
+     *
+     * @param name the name
+     * @return the cache, or null
+     */
+    public static @Nullable CacheStats get(@NotNull String name) {
+        return CACHES.get(name);
+    }
+
+    /**
+     * Gets every registered cache, by name.
+     *
+     * @return the registered caches
+     */
+    public static @NotNull Map<String, CacheStats> getAll() {
+        return Collections.unmodifiableMap(CACHES);
+    }
+
+    /**
+     * Exports a snapshot of the statistics of every registered cache, ordered by name.
+     *
+     * @return a json form of the statistics
+     */
+    public static @NotNull JsonElement export() {
+        GsonBuilder.JsonObjectBuilder builder = GsonBuilder.object();
+        CACHES.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(e -> builder.add(e.getKey(), e.getValue().snapshot()));
+        return builder.build();
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=Cache,name=" + ObjectName.quote(name));
+    }
+
+    private record MXBean(String name, CacheStats cache) implements CacheStatsMXBean {
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public long getHitCount() {
+            return this.cache.getHitCount();
+        }
+
+        @Override
+        public long getMissCount() {
+            return this.cache.getMissCount();
+        }
+
+        @Override
+        public long getRequestCount() {
+            return this.cache.getRequestCount();
+        }
+
+        @Override
+        public double getHitRate() {
+            return this.cache.getHitRate();
+        }
+
+        @Override
+        public long getLoadSuccessCount() {
+            return this.cache.getLoadSuccessCount();
+        }
+
+        @Override
+        public long getLoadFailureCount() {
+            return this.cache.getLoadFailureCount();
+        }
+
+        @Override
+        public long getTotalLoadTimeNanos() {
+            return this.cache.getTotalLoadTimeNanos();
+        }
+
+        @Override
+        public double getAverageLoadPenaltyNanos() {
+            return this.cache.getAverageLoadPenaltyNanos();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return this.cache.getEvictionCount();
+        }
+
+        @Override
+        public long getSize() {
+            return this.cache.getSize();
+        }
+    }
+}
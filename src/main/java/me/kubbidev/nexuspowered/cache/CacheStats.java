@@ -0,0 +1,234 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.MoreObjects;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import me.kubbidev.nexuspowered.gson.GsonBuilder;
+import me.kubbidev.nexuspowered.gson.GsonSerializable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Statistics about the performance of a cache.
+ *
+ * <p>Every cache in this package implements this interface. Statistics are only recorded once enabled with the
+ * cache's {@code recordStats()} method, and are all zero until then, so caches which aren't monitored don't pay
+ * for them. Counts are cumulative from when recording was enabled, and are read without locking, so a set of counts
+ * read one after another may not be exactly consistent with each other. Use {@link #snapshot()} to capture them
+ * together.</p>
+ *
+ * <p>Caches can be named and exposed for monitoring using {@link CacheRegistry}.</p>
+ */
+public interface CacheStats {
+
+    /**
+     * Creates a view of the statistics recorded by a Guava cache.
+     *
+     * <p>The cache must have been built with {@link com.google.common.cache.CacheBuilder#recordStats()}, otherwise
+     * every count will be zero.</p>
+     *
+     * @param cache the cache
+     * @return a view of the cache's statistics
+     */
+    static @NotNull CacheStats of(@NotNull com.google.common.cache.Cache<?, ?> cache) {
+        Objects.requireNonNull(cache, "cache");
+        return new GuavaCacheStats(cache);
+    }
+
+    /**
+     * Gets the number of lookups which found a value already in the cache.
+     *
+     * @return the hit count
+     */
+    long getHitCount();
+
+    /**
+     * Gets the number of lookups which didn't find a value in the cache, whether or not one was then loaded.
+     *
+     * @return the miss count
+     */
+    long getMissCount();
+
+    /**
+     * Gets the number of times a value was loaded successfully.
+     *
+     * @return the load success count
+     */
+    long getLoadSuccessCount();
+
+    /**
+     * Gets the number of times loading a value threw an exception or returned null.
+     *
+     * @return the load failure count
+     */
+    long getLoadFailureCount();
+
+    /**
+     * Gets the total time spent loading values, including failed loads.
+     *
+     * @return the total load time in nanoseconds
+     */
+    long getTotalLoadTimeNanos();
+
+    /**
+     * Gets the number of entries removed because of the cache's size or expiry policy. Explicit invalidations
+     * aren't counted.
+     *
+     * @return the eviction count
+     */
+    long getEvictionCount();
+
+    /**
+     * Gets the number of values currently held by the cache.
+     *
+     * @return the size
+     */
+    long getSize();
+
+    /**
+     * Gets the total number of lookups.
+     *
+     * @return the number of hits and misses
+     */
+    default long getRequestCount() {
+        return getHitCount() + getMissCount();
+    }
+
+    /**
+     * Gets the fraction of lookups which found a value already in the cache.
+     *
+     * @return the hit rate, or 1 if there have been no lookups
+     */
+    default double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 1.0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the mean time spent on each load, including failed loads.
+     *
+     * @return the average load time in nanoseconds, or 0 if nothing has been loaded
+     */
+    default double getAverageLoadPenaltyNanos() {
+        long loads = getLoadSuccessCount() + getLoadFailureCount();
+        return loads == 0 ? 0.0 : (double) getTotalLoadTimeNanos() / loads;
+    }
+
+    /**
+     * Captures the current statistics.
+     *
+     * @return a snapshot of the statistics
+     */
+    default @NotNull Snapshot snapshot() {
+        return new Snapshot(getHitCount(), getMissCount(), getLoadSuccessCount(), getLoadFailureCount(),
+            getTotalLoadTimeNanos(), getEvictionCount(), getSize());
+    }
+
+    /**
+     * An immutable copy of the statistics of a cache at a point in time.
+     */
+    final class Snapshot implements CacheStats, GsonSerializable {
+
+        private final long hitCount;
+        private final long missCount;
+        private final long loadSuccessCount;
+        private final long loadFailureCount;
+        private final long totalLoadTimeNanos;
+        private final long evictionCount;
+        private final long size;
+
+        public Snapshot(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                        long totalLoadTimeNanos, long evictionCount, long size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadSuccessCount = loadSuccessCount;
+            this.loadFailureCount = loadFailureCount;
+            this.totalLoadTimeNanos = totalLoadTimeNanos;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        public static Snapshot deserialize(JsonElement element) {
+            JsonObject object = element.getAsJsonObject();
+            return new Snapshot(
+                object.get("hits").getAsLong(),
+                object.get("misses").getAsLong(),
+                object.get("loadSuccesses").getAsLong(),
+                object.get("loadFailures").getAsLong(),
+                object.get("totalLoadTimeNanos").getAsLong(),
+                object.get("evictions").getAsLong(),
+                object.get("size").getAsLong()
+            );
+        }
+
+        @Override
+        public long getHitCount() {
+            return this.hitCount;
+        }
+
+        @Override
+        public long getMissCount() {
+            return this.missCount;
+        }
+
+        @Override
+        public long getLoadSuccessCount() {
+            return this.loadSuccessCount;
+        }
+
+        @Override
+        public long getLoadFailureCount() {
+            return this.loadFailureCount;
+        }
+
+        @Override
+        public long getTotalLoadTimeNanos() {
+            return this.totalLoadTimeNanos;
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return this.evictionCount;
+        }
+
+        @Override
+        public long getSize() {
+            return this.size;
+        }
+
+        @Override
+        public @NotNull Snapshot snapshot() {
+            return this;
+        }
+
+        @Override
+        public @NotNull JsonElement serialize() {
+            return GsonBuilder.object()
+                .add("hits", this.hitCount)
+                .add("misses", this.missCount)
+                .add("loadSuccesses", this.loadSuccessCount)
+                .add("loadFailures", this.loadFailureCount)
+                .add("totalLoadTimeNanos", this.totalLoadTimeNanos)
+                .add("evictions", this.evictionCount)
+                .add("size", this.size)
+                .add("hitRate", getHitRate())
+                .add("averageLoadPenaltyMs", getAverageLoadPenaltyNanos() / TimeUnit.MILLISECONDS.toNanos(1))
+                .build();
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("hits", this.hitCount)
+                .add("misses", this.missCount)
+                .add("loadSuccesses", this.loadSuccessCount)
+                .add("loadFailures", this.loadFailureCount)
+                .add("totalLoadTimeNanos", this.totalLoadTimeNanos)
+                .add("evictions", this.evictionCount)
+                .add("size", this.size)
+                .toString();
+        }
+    }
+}
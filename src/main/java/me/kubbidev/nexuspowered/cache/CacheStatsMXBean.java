@@ -0,0 +1,31 @@
+package me.kubbidev.nexuspowered.cache;
+
+/**
+ * The management interface through which {@link CacheRegistry} exposes each registered cache over JMX.
+ *
+ * @see CacheStats
+ */
+public interface CacheStatsMXBean {
+
+    String getName();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getRequestCount();
+
+    double getHitRate();
+
+    long getLoadSuccessCount();
+
+    long getLoadFailureCount();
+
+    long getTotalLoadTimeNanos();
+
+    double getAverageLoadPenaltyNanos();
+
+    long getEvictionCount();
+
+    long getSize();
+}
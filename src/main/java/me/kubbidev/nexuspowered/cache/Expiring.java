@@ -3,7 +3,9 @@ package me.kubbidev.nexuspowered.cache;
 import com.google.common.base.Preconditions;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import me.kubbidev.nexuspowered.time.Time;
 
 /**
  * An expiring supplier extension.
@@ -13,13 +15,14 @@ import java.util.function.Supplier;
  *
  * @param <T> the supplied type
  */
-public final class Expiring<T> implements Supplier<T> {
+public final class Expiring<T> implements Supplier<T>, CacheStats {
 
-    private final    Supplier<T> supplier;
-    private final    long        durationNanos;
-    private volatile T           value;
+    private final    Supplier<T>  supplier;
+    private final    long         durationNanos;
+    private volatile StatsCounter stats = StatsCounter.disabled();
+    private volatile T            value;
     // when to expire. 0 means "not yet initialized".
-    private volatile long        expirationNanos;
+    private volatile long         expirationNanos;
 
     private Expiring(Supplier<T> supplier, long duration, TimeUnit unit) {
         this.supplier = supplier;
@@ -34,16 +37,36 @@ public final class Expiring<T> implements Supplier<T> {
         return new Expiring<>(supplier, duration, unit);
     }
 
+    /**
+     * Creates a keyed equivalent, which shares one loader and one set of locks between all of its keys.
+     *
+     * @param loader   the function to load values
+     * @param duration how long values live for
+     * @param unit     the unit of the duration
+     * @param <K>      the key type
+     * @param <V>      the value type
+     * @return a new expiring map
+     */
+    public static <K, V> ExpiringMap<K, V> keyed(Function<? super K, ? extends V> loader, long duration,
+                                                 TimeUnit unit) {
+        return ExpiringMap.of(loader, duration, unit);
+    }
+
     @Override
     public T get() {
         long nanos = this.expirationNanos;
-        long now = System.nanoTime();
+        long now = Time.tickNanos();
 
         if (nanos == 0 || now - nanos >= 0) {
             synchronized (this) {
                 if (nanos == this.expirationNanos) { // recheck for lost race
+                    this.stats.recordMiss();
+                    if (nanos != 0) {
+                        this.stats.recordEviction();
+                    }
+
                     // compute the value using the delegate
-                    T value = this.supplier.get();
+                    T value = this.stats.load(this.supplier);
                     this.value = value;
 
                     // reset expiration timer
@@ -55,6 +78,57 @@ public final class Expiring<T> implements Supplier<T> {
                 }
             }
         }
+        this.stats.recordHit();
         return this.value;
     }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized Expiring<T> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        long nanos = this.expirationNanos;
+        return nanos == 0 || Time.tickNanos() - nanos >= 0 ? 0 : 1;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import me.kubbidev.nexuspowered.time.Time;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A keyed equivalent of {@link Expiring}.
+ *
+ * <p>The loader is only called if the value for a key isn't already calculated, or has expired. All keys share one
+ * loader and one set of striped locks, and expiry times are stored in primitive arrays, so a map of many expiring
+ * values costs far less than the same number of {@link Expiring} instances.</p>
+ *
+ * <p>Expiry is checked against the {@link Time#tickClock() tick clock}, which by default is only read once per
+ * tick, so values may be returned for slightly longer than the duration. Expired values are replaced when next
+ * requested, or removed by {@link #cleanUp()}.</p>
+ *
+ * <p>The loader must not access the map it is loading for. Null results are not stored.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class ExpiringMap<K, V> implements CacheStats {
+
+    private final    Function<? super K, ? extends V> loader;
+    private final    long                             durationNanos;
+    private volatile StatsCounter                     stats = StatsCounter.disabled();
+    private final    StripedTable<K, V>               table;
+
+    private ExpiringMap(Function<? super K, ? extends V> loader, long durationNanos, int concurrencyLevel) {
+        this.loader = loader;
+        this.durationNanos = durationNanos;
+        this.table = new StripedTable<>(concurrencyLevel, true);
+    }
+
+    public static <K, V> ExpiringMap<K, V> of(Function<? super K, ? extends V> loader, long duration,
+                                              TimeUnit unit) {
+        return of(loader, duration, unit, 16);
+    }
+
+    public static <K, V> ExpiringMap<K, V> of(Function<? super K, ? extends V> loader, long duration, TimeUnit unit,
+                                              int concurrencyLevel) {
+        Objects.requireNonNull(loader, "loader");
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(duration > 0);
+        Preconditions.checkArgument(concurrencyLevel > 0, "concurrencyLevel must be > 0");
+
+        return new ExpiringMap<>(loader, unit.toNanos(duration), concurrencyLevel);
+    }
+
+    /**
+     * Gets the value for the given key, loading it if it isn't present or has expired.
+     *
+     * @param key the key
+     * @return the value
+     */
+    public V get(@NotNull K key) {
+        V value = this.table.get(key, Time.tickNanos());
+        if (value != null) {
+            return value;
+        }
+        return this.table.load(key, this.loader, this.durationNanos);
+    }
+
+    /**
+     * Gets the value for the given key, if present and not expired, without loading it.
+     *
+     * @param key the key
+     * @return the value, or null
+     */
+    public @Nullable V getIfPresent(@NotNull K key) {
+        return this.table.get(key, Time.tickNanos());
+    }
+
+    public void invalidate(@NotNull K key) {
+        this.table.remove(key);
+    }
+
+    public void invalidateAll() {
+        this.table.clear();
+    }
+
+    /**
+     * Removes every expired value.
+     */
+    public void cleanUp() {
+        this.table.removeExpired(Time.tickNanos());
+    }
+
+    /**
+     * Gets the number of values stored, including any which have expired but not yet been removed.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return this.table.size();
+    }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized ExpiringMap<K, V> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+            this.table.recordStats(this.stats);
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return size();
+    }
+}
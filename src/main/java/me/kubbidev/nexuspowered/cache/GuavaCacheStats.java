@@ -0,0 +1,58 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.cache.Cache;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link CacheStats} view of a Guava {@link Cache}.
+ */
+final class GuavaCacheStats implements CacheStats {
+
+    private final Cache<?, ?> cache;
+
+    GuavaCacheStats(Cache<?, ?> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.cache.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.cache.stats().missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.cache.stats().loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.cache.stats().loadExceptionCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.cache.stats().totalLoadTime();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.cache.stats().evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return this.cache.size();
+    }
+
+    @Override
+    public @NotNull Snapshot snapshot() {
+        com.google.common.cache.CacheStats stats = this.cache.stats();
+        return new Snapshot(stats.hitCount(), stats.missCount(), stats.loadSuccessCount(),
+            stats.loadExceptionCount(), stats.totalLoadTime(), stats.evictionCount(), this.cache.size());
+    }
+}
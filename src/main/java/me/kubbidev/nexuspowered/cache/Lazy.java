@@ -1,6 +1,7 @@
 package me.kubbidev.nexuspowered.cache;
 
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -11,11 +12,12 @@ import java.util.function.Supplier;
  *
  * @param <T> the supplied type
  */
-public final class Lazy<T> implements Supplier<T> {
+public final class Lazy<T> implements Supplier<T>, CacheStats {
 
-    private volatile Supplier<T> supplier;
-    private volatile boolean     initialized = false;
-    private          T           value;
+    private volatile StatsCounter stats       = StatsCounter.disabled();
+    private volatile Supplier<T>  supplier;
+    private volatile boolean      initialized = false;
+    private          T            value;
 
     private Lazy(Supplier<T> supplier) {
         this.supplier = supplier;
@@ -34,13 +36,26 @@ public final class Lazy<T> implements Supplier<T> {
         return new Lazy<>(Objects.requireNonNull(supplier, "supplier"));
     }
 
+    /**
+     * Creates a keyed equivalent, which shares one loader and one set of locks between all of its keys.
+     *
+     * @param loader the function to load values
+     * @param <K>    the key type
+     * @param <V>    the value type
+     * @return a new lazy map
+     */
+    public static <K, V> LazyMap<K, V> keyed(Function<? super K, ? extends V> loader) {
+        return LazyMap.of(loader);
+    }
+
     @Override
     public T get() {
         if (!this.initialized) {
             synchronized (this) {
                 if (!this.initialized) {
                     // compute the value using the delegate
-                    T value = this.supplier.get();
+                    this.stats.recordMiss();
+                    T value = this.stats.load(this.supplier);
 
                     this.value = value;
                     this.initialized = true;
@@ -51,6 +66,56 @@ public final class Lazy<T> implements Supplier<T> {
                 }
             }
         }
+        this.stats.recordHit();
         return this.value;
     }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized Lazy<T> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return this.initialized ? 1 : 0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A keyed equivalent of {@link Lazy}.
+ *
+ * <p>The loader is only called the first time a key is requested, and the result is then returned for all
+ * subsequent calls. All keys share one loader and one set of striped locks, so a map of many lazy values costs
+ * far less than the same number of {@link Lazy} instances.</p>
+ *
+ * <p>The loader must not access the map it is loading for. Null results are not stored.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class LazyMap<K, V> implements CacheStats {
+
+    private final    Function<? super K, ? extends V> loader;
+    private volatile StatsCounter                     stats = StatsCounter.disabled();
+    private final    StripedTable<K, V>               table;
+
+    private LazyMap(Function<? super K, ? extends V> loader, int concurrencyLevel) {
+        this.loader = loader;
+        this.table = new StripedTable<>(concurrencyLevel, false);
+    }
+
+    public static <K, V> LazyMap<K, V> of(Function<? super K, ? extends V> loader) {
+        return of(loader, 16);
+    }
+
+    public static <K, V> LazyMap<K, V> of(Function<? super K, ? extends V> loader, int concurrencyLevel) {
+        Objects.requireNonNull(loader, "loader");
+        Preconditions.checkArgument(concurrencyLevel > 0, "concurrencyLevel must be > 0");
+        return new LazyMap<>(loader, concurrencyLevel);
+    }
+
+    /**
+     * Gets the value for the given key, loading it if it hasn't been yet.
+     *
+     * @param key the key
+     * @return the value
+     */
+    public V get(@NotNull K key) {
+        V value = this.table.get(key, 0);
+        if (value != null) {
+            return value;
+        }
+        return this.table.load(key, this.loader, 0);
+    }
+
+    public @Nullable V getIfPresent(@NotNull K key) {
+        return this.table.get(key, 0);
+    }
+
+    /**
+     * Removes the value for the given key, so that it is loaded again next time it is requested.
+     *
+     * @param key the key
+     */
+    public void invalidate(@NotNull K key) {
+        this.table.remove(key);
+    }
+
+    public void invalidateAll() {
+        this.table.clear();
+    }
+
+    public int size() {
+        return this.table.size();
+    }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized LazyMap<K, V> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+            this.table.recordStats(this.stats);
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return size();
+    }
+}
@@ -6,10 +6,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import org.jetbrains.annotations.NotNull;
 
-public final class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K, V> {
+public final class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K, V>, CacheStats {
 
-    private final Map<K, V>      map;
-    private final Function<K, V> function;
+    private final    Map<K, V>      map;
+    private final    Function<K, V> function;
+    private volatile StatsCounter   stats = StatsCounter.disabled();
 
     private LoadingMap(Map<K, V> map, Function<K, V> function) {
         this.map = map;
@@ -30,7 +31,13 @@ public final class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K
     }
 
     public V getIfPresent(K key) {
-        return this.map.get(key);
+        V value = this.map.get(key);
+        if (value != null) {
+            this.stats.recordHit();
+        } else {
+            this.stats.recordMiss();
+        }
+        return value;
     }
 
     @SuppressWarnings("unchecked")
@@ -38,9 +45,64 @@ public final class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K
     public V get(Object key) {
         V value = this.map.get(key);
         if (value != null) {
+            this.stats.recordHit();
             return value;
         } else {
-            return this.map.computeIfAbsent((K) key, this.function);
+            this.stats.recordMiss();
+            return this.map.computeIfAbsent((K) key, this::load);
         }
     }
+
+    private V load(K key) {
+        return this.stats.load(key, this.function);
+    }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized LoadingMap<K, V> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return this.map.size();
+    }
 }
\ No newline at end of file
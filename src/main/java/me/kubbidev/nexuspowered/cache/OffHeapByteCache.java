@@ -0,0 +1,527 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A cache of byte arrays stored outside of the Java heap.
+ *
+ * <p>Intended for serialized data which is large, and read rarely compared to how long it is kept, such as the
+ * inventories of recently seen players. Keeping it off-heap means it doesn't have to be traced or copied by the
+ * garbage collector.</p>
+ *
+ * <p>Memory is reserved from the operating system in fixed size slabs, up to the byte budget. Each slab is split
+ * into chunks of a single size class (powers of two from {@value #MIN_CHUNK_SIZE} bytes up to the slab size), and
+ * each value is stored in the smallest chunk it fits in. A slab whose chunks are all free is returned to a shared
+ * pool, and can be split again for any size class. Once the budget has been reached, storing a value evicts
+ * until a chunk is free, each time choosing whichever was used less recently: the least recently used value of the
+ * same size class, or the least recently used slab of any class.</p>
+ *
+ * <p>Values are read with {@link #read(Object, Function)}, which hands the reader a read-only view of the stored
+ * bytes rather than a copy. Entries being read are pinned, so their memory isn't reused until the reader
+ * returns, even if they are removed in the meantime.</p>
+ *
+ * <p>Slabs are never returned to the operating system until the cache itself is garbage collected.</p>
+ *
+ * @param <K> the key type
+ */
+public final class OffHeapByteCache<K> implements CacheStats {
+
+    public static final int MIN_CHUNK_SIZE    = 64;
+    public static final int DEFAULT_SLAB_SIZE = 1 << 20;
+
+    private static final int MIN_CHUNK_SHIFT = Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE);
+
+    private final long budget;
+    private final int  slabSize;
+
+    private final ReentrantLock          lock      = new ReentrantLock();
+    private final Map<K, Entry<K>>       entries   = new HashMap<>();
+    private final SizeClass<K>[]         classes;
+    // slabs currently split for a size class, and the buffers of those which aren't
+    private final Set<Slab<K>>           slabs     = new HashSet<>();
+    private final ArrayDeque<ByteBuffer> pool      = new ArrayDeque<>();
+    private       long                   allocated = 0;
+    private       long                   used      = 0;
+    // incremented on each use of a slab, to find the least recently used
+    private       long                   clock     = 0;
+
+    private volatile StatsCounter stats = StatsCounter.disabled();
+
+    @SuppressWarnings("unchecked")
+    private OffHeapByteCache(long budget, int slabSize) {
+        this.budget = budget;
+        this.slabSize = slabSize;
+
+        int classCount = Integer.numberOfTrailingZeros(slabSize) - MIN_CHUNK_SHIFT + 1;
+        this.classes = new SizeClass[classCount];
+        for (int i = 0; i < classCount; i++) {
+            this.classes[i] = new SizeClass<>(MIN_CHUNK_SIZE << i);
+        }
+    }
+
+    /**
+     * Creates a cache which may reserve up to the given number of bytes, in slabs of {@value #DEFAULT_SLAB_SIZE}
+     * bytes.
+     *
+     * @param budget the maximum number of bytes to reserve
+     * @param <K>    the key type
+     * @return a new cache
+     */
+    public static <K> OffHeapByteCache<K> create(long budget) {
+        return create(budget, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * Creates a cache which may reserve up to the given number of bytes.
+     *
+     * @param budget   the maximum number of bytes to reserve
+     * @param slabSize the size of each slab, which is also the size of the largest value which can be stored.
+     *                 Must be a power of two.
+     * @param <K>      the key type
+     * @return a new cache
+     */
+    public static <K> OffHeapByteCache<K> create(long budget, int slabSize) {
+        Preconditions.checkArgument(slabSize >= MIN_CHUNK_SIZE && Integer.bitCount(slabSize) == 1,
+            "slabSize must be a power of two, and at least " + MIN_CHUNK_SIZE);
+        Preconditions.checkArgument(budget >= slabSize, "budget must be at least the slab size");
+        return new OffHeapByteCache<>(budget, slabSize);
+    }
+
+    /**
+     * Stores a copy of the given bytes.
+     *
+     * @param key  the key
+     * @param data the bytes
+     * @return true if the bytes were stored, false if no memory could be freed for them
+     * @throws IllegalArgumentException if the data is larger than the slab size
+     */
+    public boolean put(@NotNull K key, @NotNull byte[] data) {
+        return put(key, ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Stores a copy of the remaining bytes in the given buffer. The buffer's position is not changed.
+     *
+     * @param key  the key
+     * @param data the bytes
+     * @return true if the bytes were stored, false if no memory could be freed for them
+     * @throws IllegalArgumentException if the data is larger than the slab size
+     */
+    public boolean put(@NotNull K key, @NotNull ByteBuffer data) {
+        Objects.requireNonNull(key, "key");
+        int length = data.remaining();
+        if (length > this.slabSize) {
+            throw new IllegalArgumentException(
+                "value of " + length + " bytes is larger than the slab size " + this.slabSize);
+        }
+        SizeClass<K> sizeClass = this.classes[classIndex(length)];
+
+        this.lock.lock();
+        try {
+            Entry<K> existing = this.entries.remove(key);
+            if (existing != null) {
+                unlink(existing);
+            }
+
+            Chunk<K> chunk = allocate(sizeClass);
+            if (chunk == null) {
+                return false;
+            }
+            chunk.slab.buffer.put(chunk.offset, data, data.position(), length);
+
+            Entry<K> entry = new Entry<>(key, sizeClass, chunk, length);
+            entry.lastUsed = chunk.slab.lastUsed;
+            this.entries.put(key, entry);
+            sizeClass.lru.put(key, entry);
+            this.used += length;
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Reads the bytes stored for the given key.
+     *
+     * <p>The reader is given a read-only view of the stored bytes, which is only valid until it returns. It is
+     * called without holding the cache's lock.</p>
+     *
+     * @param key    the key
+     * @param reader the function to read the bytes with
+     * @param <R>    the result type
+     * @return the result of the reader, or null if there are no bytes stored for the key
+     */
+    public <R> @Nullable R read(@NotNull K key, @NotNull Function<? super ByteBuffer, ? extends R> reader) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(reader, "reader");
+
+        Entry<K> entry;
+        this.lock.lock();
+        try {
+            entry = this.entries.get(key);
+            if (entry == null) {
+                this.stats.recordMiss();
+                return null;
+            }
+            // touch, so the entry becomes the most recently used in its class
+            entry.sizeClass.lru.get(key);
+            entry.lastUsed = entry.chunk.slab.lastUsed = ++this.clock;
+            entry.chunk.slab.pins++;
+            entry.pins++;
+        } finally {
+            this.lock.unlock();
+        }
+
+        this.stats.recordHit();
+        try {
+            return reader.apply(entry.chunk.slab.buffer.slice(entry.chunk.offset, entry.length).asReadOnlyBuffer());
+        } finally {
+            this.lock.lock();
+            try {
+                entry.chunk.slab.pins--;
+                if (--entry.pins == 0 && entry.removed) {
+                    free(entry.chunk);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets a copy of the bytes stored for the given key.
+     *
+     * @param key the key
+     * @return a copy of the bytes, or null
+     */
+    @Nullable
+    public byte[] getBytes(@NotNull K key) {
+        return read(key, buf -> {
+            byte[] bytes = new byte[buf.remaining()];
+            buf.get(bytes);
+            return bytes;
+        });
+    }
+
+    public boolean contains(@NotNull K key) {
+        this.lock.lock();
+        try {
+            return this.entries.containsKey(key);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the bytes stored for the given key.
+     *
+     * @param key the key
+     */
+    public void invalidate(@NotNull K key) {
+        this.lock.lock();
+        try {
+            Entry<K> entry = this.entries.remove(key);
+            if (entry != null) {
+                unlink(entry);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all stored bytes. The reserved slabs are kept for reuse by any size class.
+     */
+    public void invalidateAll() {
+        this.lock.lock();
+        try {
+            for (Entry<K> entry : this.entries.values()) {
+                unlink(entry);
+            }
+            this.entries.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the total size of the stored values, not counting the unused space at the end of their chunks.
+     *
+     * @return the number of bytes stored
+     */
+    public long getUsedBytes() {
+        this.lock.lock();
+        try {
+            return this.used;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of bytes reserved for slabs.
+     *
+     * @return the number of bytes reserved
+     */
+    public long getAllocatedBytes() {
+        this.lock.lock();
+        try {
+            return this.allocated;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long getBudget() {
+        return this.budget;
+    }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized OffHeapByteCache<K> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    /**
+     * Always zero, as values are put into the cache rather than loaded by it.
+     *
+     * @return zero
+     */
+    @Override
+    public long getLoadSuccessCount() {
+        return 0;
+    }
+
+    /**
+     * Always zero, as values are put into the cache rather than loaded by it.
+     *
+     * @return zero
+     */
+    @Override
+    public long getLoadFailureCount() {
+        return 0;
+    }
+
+    /**
+     * Always zero, as values are put into the cache rather than loaded by it.
+     *
+     * @return zero
+     */
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return 0;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return size();
+    }
+
+    private @Nullable Chunk<K> allocate(SizeClass<K> sizeClass) {
+        while (sizeClass.available.isEmpty()) {
+            ByteBuffer buffer = this.pool.poll();
+            if (buffer == null && this.allocated + this.slabSize <= this.budget) {
+                buffer = ByteBuffer.allocateDirect(this.slabSize);
+                this.allocated += this.slabSize;
+            }
+            if (buffer != null) {
+                Slab<K> slab = new Slab<>(buffer, sizeClass);
+                this.slabs.add(slab);
+                sizeClass.available.add(slab);
+                break;
+            }
+
+            // out of budget - make room by evicting whichever is older: the least recently used value of this
+            // class, or the least recently used slab of any class. a slab is used whenever any of its values
+            // are, so if it's older, so is everything in it
+            Iterator<Entry<K>> it = sizeClass.lru.values().iterator();
+            Entry<K> eldestEntry = it.hasNext() ? it.next() : null;
+            Slab<K> eldestSlab = eldestSlab();
+            if (eldestSlab != null && (eldestEntry == null || eldestSlab.lastUsed < eldestEntry.lastUsed)) {
+                evict(eldestSlab);
+            } else if (eldestEntry != null) {
+                evict(eldestEntry);
+            } else {
+                return null;
+            }
+        }
+
+        Slab<K> slab = sizeClass.available.iterator().next();
+        int offset = slab.free[--slab.freeCount];
+        if (slab.freeCount == 0) {
+            sizeClass.available.remove(slab);
+        }
+        slab.lastUsed = ++this.clock;
+        return new Chunk<>(slab, offset);
+    }
+
+    private @Nullable Slab<K> eldestSlab() {
+        Slab<K> eldest = null;
+        for (Slab<K> slab : this.slabs) {
+            // a slab with pinned chunks can't be freed until its readers return
+            if (slab.pins == 0 && (eldest == null || slab.lastUsed < eldest.lastUsed)) {
+                eldest = slab;
+            }
+        }
+        return eldest;
+    }
+
+    private void evict(Slab<K> slab) {
+        // evicting the last entry frees the slab back to the pool
+        Iterator<Entry<K>> it = slab.owner.lru.values().iterator();
+        while (it.hasNext()) {
+            Entry<K> entry = it.next();
+            if (entry.chunk.slab == slab) {
+                it.remove();
+                this.entries.remove(entry.key);
+                entry.removed = true;
+                this.used -= entry.length;
+                this.stats.recordEviction();
+                free(entry.chunk);
+            }
+        }
+    }
+
+    private void evict(Entry<K> entry) {
+        this.entries.remove(entry.key);
+        unlink(entry);
+        this.stats.recordEviction();
+    }
+
+    private void unlink(Entry<K> entry) {
+        entry.sizeClass.lru.remove(entry.key);
+        entry.removed = true;
+        this.used -= entry.length;
+        // a pinned chunk is freed by the last reader instead
+        if (entry.pins == 0) {
+            free(entry.chunk);
+        }
+    }
+
+    private void free(Chunk<K> chunk) {
+        Slab<K> slab = chunk.slab;
+        slab.free[slab.freeCount++] = chunk.offset;
+        if (slab.freeCount == slab.free.length) {
+            // every chunk is free, so the slab can be used by any size class
+            slab.owner.available.remove(slab);
+            this.slabs.remove(slab);
+            this.pool.push(slab.buffer);
+        } else if (slab.freeCount == 1) {
+            slab.owner.available.add(slab);
+        }
+    }
+
+    private static int classIndex(int length) {
+        if (length <= MIN_CHUNK_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_CHUNK_SHIFT;
+    }
+
+    private record Chunk<K>(Slab<K> slab, int offset) {
+
+    }
+
+    private static final class Slab<K> {
+
+        private final ByteBuffer   buffer;
+        private final SizeClass<K> owner;
+        // a stack of the offsets of the free chunks
+        private final int[]        free;
+        private       int          freeCount;
+
+        // guarded by the cache lock
+        private long lastUsed = 0;
+        private int  pins     = 0;
+
+        private Slab(ByteBuffer buffer, SizeClass<K> owner) {
+            this.buffer = buffer;
+            this.owner = owner;
+            this.free = new int[buffer.capacity() / owner.chunkSize];
+            for (int i = 0; i < this.free.length; i++) {
+                // pushed in reverse, so chunks are handed out from the start of the slab
+                this.free[i] = (this.free.length - 1 - i) * owner.chunkSize;
+            }
+            this.freeCount = this.free.length;
+        }
+    }
+
+    private static final class SizeClass<K> {
+
+        private final int                        chunkSize;
+        // slabs with at least one free chunk
+        private final LinkedHashSet<Slab<K>>     available = new LinkedHashSet<>();
+        // in access order, so the eldest entry is the least recently used
+        private final LinkedHashMap<K, Entry<K>> lru       = new LinkedHashMap<>(16, 0.75f, true);
+
+        private SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    private static final class Entry<K> {
+
+        private final K            key;
+        private final SizeClass<K> sizeClass;
+        private final Chunk<K>     chunk;
+        private final int          length;
+
+        // guarded by the cache lock
+        private long    lastUsed = 0;
+        private int     pins     = 0;
+        private boolean removed  = false;
+
+        private Entry(K key, SizeClass<K> sizeClass, Chunk<K> chunk, int length) {
+            this.key = key;
+            this.sizeClass = sizeClass;
+            this.chunk = chunk;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import me.kubbidev.nexuspowered.Schedulers;
+import me.kubbidev.nexuspowered.promise.Promise;
+import me.kubbidev.nexuspowered.time.Time;
+import me.kubbidev.nexuspowered.util.Log;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A refresh-ahead supplier extension.
+ *
+ * <p>Unlike {@link Expiring}, callers are never made to wait for the delegate supplier once a value has been
+ * calculated. When {@link #get()} is called within the refresh window before the value expires, or at any point
+ * after, the current value is returned straight away and a refresh is started in the background. Only one refresh
+ * is in flight at a time.</p>
+ *
+ * <p>Only the very first call to {@link #get()} computes the value on the calling thread.</p>
+ *
+ * <p>If a background refresh fails, the failure is logged and the current value continues to be served. The next
+ * refresh isn't attempted until a tenth of the duration has passed, so a failing supplier isn't called again on
+ * every request.</p>
+ *
+ * @param <T> the supplied type
+ */
+public final class Refreshing<T> implements Supplier<T>, CacheStats {
+
+    private final    Supplier<T>                 supplier;
+    private final    long                        durationNanos;
+    private final    long                        refreshAheadNanos;
+    private final    AtomicReference<Promise<T>> refresh = new AtomicReference<>();
+    private volatile StatsCounter                stats   = StatsCounter.disabled();
+    private volatile Entry<T>                    entry;
+
+    private Refreshing(Supplier<T> supplier, long durationNanos, long refreshAheadNanos) {
+        this.supplier = supplier;
+        this.durationNanos = durationNanos;
+        this.refreshAheadNanos = refreshAheadNanos;
+    }
+
+    /**
+     * Creates a refreshing supplier, which starts refreshing its value once 80% of the duration has elapsed.
+     *
+     * @param supplier the delegate supplier
+     * @param duration how long values are fresh for
+     * @param unit     the unit of the duration
+     * @param <T>      the supplied type
+     * @return a new refreshing supplier
+     */
+    public static <T> Refreshing<T> suppliedBy(Supplier<T> supplier, long duration, TimeUnit unit) {
+        return suppliedBy(supplier, duration, duration / 5, unit);
+    }
+
+    /**
+     * Creates a refreshing supplier.
+     *
+     * @param supplier     the delegate supplier
+     * @param duration     how long values are fresh for
+     * @param refreshAhead how long before a value expires to start refreshing it
+     * @param unit         the unit of the durations
+     * @param <T>          the supplied type
+     * @return a new refreshing supplier
+     */
+    public static <T> Refreshing<T> suppliedBy(Supplier<T> supplier, long duration, long refreshAhead,
+                                               TimeUnit unit) {
+        Objects.requireNonNull(supplier, "supplier");
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(duration > 0);
+        Preconditions.checkArgument(refreshAhead >= 0 && refreshAhead < duration);
+
+        return new Refreshing<>(supplier, unit.toNanos(duration), unit.toNanos(refreshAhead));
+    }
+
+    @Override
+    public T get() {
+        Entry<T> entry = this.entry;
+        if (entry == null) {
+            synchronized (this) {
+                entry = this.entry;
+                if (entry == null) {
+                    this.stats.recordMiss();
+                    return compute().value;
+                }
+            }
+        }
+
+        this.stats.recordHit();
+        if (Time.tickNanos() - entry.refreshAt >= 0) {
+            refresh();
+        }
+        return entry.value;
+    }
+
+    /**
+     * Gets the current value, if one has been calculated, without starting a refresh.
+     *
+     * @return the current value
+     */
+    public Optional<T> getIfPresent() {
+        Entry<T> entry = this.entry;
+        return entry == null ? Optional.empty() : Optional.ofNullable(entry.value);
+    }
+
+    /**
+     * Gets if the current value has passed its expiry.
+     *
+     * @return true if there is no value, or it has expired
+     */
+    public boolean isStale() {
+        Entry<T> entry = this.entry;
+        return entry == null || Time.tickNanos() - entry.expiresAt >= 0;
+    }
+
+    /**
+     * Starts refreshing the value in the background, unless a refresh is already in flight.
+     *
+     * @return a promise of the refreshed value
+     */
+    public @NotNull Promise<T> refresh() {
+        while (true) {
+            Promise<T> current = this.refresh.get();
+            if (current != null) {
+                return current;
+            }
+            Promise<T> promise = Promise.empty();
+            if (this.refresh.compareAndSet(null, promise)) {
+                Schedulers.async().execute(() -> {
+                    try {
+                        promise.supply(compute().value);
+                    } catch (Throwable t) {
+                        Log.warn("Unable to refresh value, retrying later", t);
+                        retryLater();
+                        promise.supplyException(t);
+                    } finally {
+                        this.refresh.set(null);
+                    }
+                });
+                return promise;
+            }
+        }
+    }
+
+    private Entry<T> compute() {
+        T value = this.stats.load(this.supplier);
+        long now = Time.tickNanos();
+        Entry<T> entry = new Entry<>(value, now + this.durationNanos - this.refreshAheadNanos,
+            now + this.durationNanos);
+        this.entry = entry;
+        return entry;
+    }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized Refreshing<T> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return this.entry == null ? 0 : 1;
+    }
+
+    // keep serving the previous value, but don't try again straight away
+    private void retryLater() {
+        Entry<T> entry = this.entry;
+        if (entry != null) {
+            long retryAt = Time.tickNanos() + retryDelayNanos(this.durationNanos);
+            this.entry = new Entry<>(entry.value, retryAt, entry.expiresAt);
+        }
+    }
+
+    static long retryDelayNanos(long durationNanos) {
+        return Math.max(durationNanos / 10, 1);
+    }
+
+    private record Entry<T>(T value, long refreshAt, long expiresAt) {
+
+    }
+}
@@ -0,0 +1,323 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import me.kubbidev.nexuspowered.Schedulers;
+import me.kubbidev.nexuspowered.promise.Promise;
+import me.kubbidev.nexuspowered.time.Time;
+import me.kubbidev.nexuspowered.util.Log;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A keyed variant of {@link Refreshing}.
+ *
+ * <p>Each entry is refreshed in the background once it enters its refresh window, while the current value
+ * continues to be returned. Each key has at most one refresh in flight.</p>
+ *
+ * <p>If a background refresh fails, the failure is logged and the current value continues to be served until it
+ * expires. The key isn't refreshed again until a tenth of the duration has passed.</p>
+ *
+ * <p>Values expire once the duration has passed since they were loaded. Expired values are loaded again when next
+ * requested, and removed by a sweep which runs at most once per duration when a new key is loaded, or by
+ * {@link #cleanUp()}, so keys which are never requested again don't stay in the map.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class RefreshingMap<K, V> implements CacheStats {
+
+    private final    Function<? super K, ? extends V> loader;
+    private final    long                             durationNanos;
+    private final    long                             refreshAheadNanos;
+    private final    Map<K, Node<V>>                  map         = new ConcurrentHashMap<>();
+    private final    AtomicLong                       nextSweepAt = new AtomicLong(Time.tickNanos());
+    private volatile StatsCounter                     stats       = StatsCounter.disabled();
+
+    private RefreshingMap(Function<? super K, ? extends V> loader, long durationNanos, long refreshAheadNanos) {
+        this.loader = loader;
+        this.durationNanos = durationNanos;
+        this.refreshAheadNanos = refreshAheadNanos;
+    }
+
+    /**
+     * Creates a refreshing map, which starts refreshing each value once 80% of the duration has elapsed.
+     *
+     * @param loader   the function to load values
+     * @param duration how long values are fresh for
+     * @param unit     the unit of the duration
+     * @param <K>      the key type
+     * @param <V>      the value type
+     * @return a new refreshing map
+     */
+    public static <K, V> RefreshingMap<K, V> of(Function<? super K, ? extends V> loader, long duration,
+                                                TimeUnit unit) {
+        return of(loader, duration, duration / 5, unit);
+    }
+
+    /**
+     * Creates a refreshing map.
+     *
+     * @param loader       the function to load values
+     * @param duration     how long values are fresh for
+     * @param refreshAhead how long before a value expires to start refreshing it
+     * @param unit         the unit of the durations
+     * @param <K>          the key type
+     * @param <V>          the value type
+     * @return a new refreshing map
+     */
+    public static <K, V> RefreshingMap<K, V> of(Function<? super K, ? extends V> loader, long duration,
+                                                long refreshAhead, TimeUnit unit) {
+        Objects.requireNonNull(loader, "loader");
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(duration > 0);
+        Preconditions.checkArgument(refreshAhead >= 0 && refreshAhead < duration);
+
+        return new RefreshingMap<>(loader, unit.toNanos(duration), unit.toNanos(refreshAhead));
+    }
+
+    /**
+     * Gets the value for the given key, loading it on the calling thread if it isn't present.
+     *
+     * <p>If the value is present but due a refresh, it is returned straight away and refreshed in the
+     * background. If it has expired, it is loaded again on the calling thread.</p>
+     *
+     * @param key the key
+     * @return the value
+     */
+    public V get(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+        long now = Time.tickNanos();
+        Node<V> node = getNode(key, now);
+        if (node != null) {
+            this.stats.recordHit();
+            Entry<V> entry = node.entry;
+            if (now - entry.refreshAt >= 0) {
+                refresh(key, node);
+            }
+            return entry.value;
+        }
+
+        this.stats.recordMiss();
+        node = this.map.computeIfAbsent(key, k -> new Node<>(load(k)));
+        sweepIfDue(now);
+        return node.entry.value;
+    }
+
+    /**
+     * Gets a promise of the value for the given key, loading it in the background if it isn't present or has
+     * expired.
+     *
+     * @param key the key
+     * @return a promise of the value
+     */
+    public @NotNull Promise<V> getAsync(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+        Node<V> node = getNode(key, Time.tickNanos());
+        if (node == null) {
+            return Schedulers.async().supply(() -> get(key));
+        }
+        return Promise.completed(get(key));
+    }
+
+    /**
+     * Gets the current value for the given key, if present and not expired, without starting a refresh.
+     *
+     * @param key the key
+     * @return the value, or null
+     */
+    public @Nullable V getIfPresent(@NotNull K key) {
+        Node<V> node = getNode(key, Time.tickNanos());
+        if (node == null) {
+            this.stats.recordMiss();
+            return null;
+        }
+        this.stats.recordHit();
+        return node.entry.value;
+    }
+
+    /**
+     * Starts refreshing the value for the given key in the background, unless a refresh is already in flight.
+     *
+     * <p>If the key isn't present or has expired, it is loaded in the background.</p>
+     *
+     * @param key the key
+     * @return a promise of the refreshed value
+     */
+    public @NotNull Promise<V> refresh(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+        Node<V> node = getNode(key, Time.tickNanos());
+        if (node == null) {
+            return Schedulers.async().supply(() -> get(key));
+        }
+        return refresh(key, node);
+    }
+
+    /**
+     * Removes the value for the given key.
+     *
+     * @param key the key
+     */
+    public void invalidate(@NotNull K key) {
+        this.map.remove(key);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void invalidateAll() {
+        this.map.clear();
+    }
+
+    /**
+     * Removes every expired value.
+     *
+     * <p>Expired values are also removed when they are next requested, and by a sweep which runs at most once per
+     * duration when a new key is loaded, so this only needs to be called to free memory sooner.</p>
+     */
+    public void cleanUp() {
+        sweep(Time.tickNanos());
+    }
+
+    /**
+     * Gets the number of values stored, including any which have expired but not yet been removed.
+     *
+     * @return the number of values
+     */
+    public int size() {
+        return this.map.size();
+    }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized RefreshingMap<K, V> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return this.map.size();
+    }
+
+    /**
+     * Gets the node for the key, removing it if its value has expired.
+     */
+    private @Nullable Node<V> getNode(K key, long now) {
+        Node<V> node = this.map.get(key);
+        if (node == null || now - node.entry.expiresAt < 0) {
+            return node;
+        }
+        if (this.map.remove(key, node)) {
+            this.stats.recordEviction();
+        }
+        return null;
+    }
+
+    private Entry<V> load(K key) {
+        V value = this.stats.load(key, this.loader);
+        long now = Time.tickNanos();
+        return new Entry<>(value, now + this.durationNanos - this.refreshAheadNanos, now + this.durationNanos);
+    }
+
+    private void sweepIfDue(long now) {
+        long nextSweepAt = this.nextSweepAt.get();
+        if (now - nextSweepAt >= 0 && this.nextSweepAt.compareAndSet(nextSweepAt, now + this.durationNanos)) {
+            sweep(now);
+        }
+    }
+
+    private void sweep(long now) {
+        for (Map.Entry<K, Node<V>> e : this.map.entrySet()) {
+            if (now - e.getValue().entry.expiresAt >= 0 && this.map.remove(e.getKey(), e.getValue())) {
+                this.stats.recordEviction();
+            }
+        }
+    }
+
+    private Promise<V> refresh(K key, Node<V> node) {
+        while (true) {
+            Promise<V> current = node.refresh.get();
+            if (current != null) {
+                return current;
+            }
+            Promise<V> promise = Promise.empty();
+            if (node.refresh.compareAndSet(null, promise)) {
+                Schedulers.async().execute(() -> {
+                    try {
+                        Entry<V> entry = load(key);
+                        node.entry = entry;
+                        promise.supply(entry.value);
+                    } catch (Throwable t) {
+                        Log.warn("Unable to refresh value for key " + key + ", retrying later", t);
+                        // keep serving the previous value until it expires, but don't try again straight away
+                        Entry<V> previous = node.entry;
+                        long retryAt = Time.tickNanos() + Refreshing.retryDelayNanos(this.durationNanos);
+                        node.entry = new Entry<>(previous.value, retryAt, previous.expiresAt);
+                        promise.supplyException(t);
+                    } finally {
+                        node.refresh.set(null);
+                    }
+                });
+                return promise;
+            }
+        }
+    }
+
+    private static final class Node<V> {
+
+        private final    AtomicReference<Promise<V>> refresh = new AtomicReference<>();
+        private volatile Entry<V>                    entry;
+
+        private Node(Entry<V> entry) {
+            this.entry = entry;
+        }
+    }
+
+    private record Entry<V>(V value, long refreshAt, long expiresAt) {
+
+    }
+}
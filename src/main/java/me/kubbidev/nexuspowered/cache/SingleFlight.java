@@ -0,0 +1,310 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import me.kubbidev.nexuspowered.promise.Promise;
+import me.kubbidev.nexuspowered.promise.ThreadContext;
+import me.kubbidev.nexuspowered.time.Time;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Deduplicates concurrent asynchronous loads of the same key.
+ *
+ * <p>While a load for a key is in flight, further requests for the key share its {@link Promise} rather than
+ * starting another load. Optionally, successful results are cached for a fixed time after they complete.</p>
+ *
+ * <p>The returned promises are shared between callers, so they should be consumed (for example with
+ * {@link Promise#thenAcceptSync(java.util.function.Consumer)}) rather than cancelled.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class SingleFlight<K, V> implements CacheStats {
+
+    private final Function<? super K, ? extends Promise<V>> loader;
+    private final long                                      ttlNanos;
+
+    private final    Map<K, Promise<V>> inFlight    = new ConcurrentHashMap<>();
+    private final    Map<K, Cached<V>>  cache       = new ConcurrentHashMap<>();
+    private volatile StatsCounter       stats       = StatsCounter.disabled();
+    // when the cache is next swept for expired results
+    private final    AtomicLong         nextSweepAt = new AtomicLong(Time.tickNanos());
+
+    private SingleFlight(Function<? super K, ? extends Promise<V>> loader, long ttlNanos) {
+        this.loader = loader;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Creates a single flight group which loads values using the given function, without caching them.
+     *
+     * @param loader the function to start a load
+     * @param <K>    the key type
+     * @param <V>    the value type
+     * @return a new single flight group
+     */
+    public static <K, V> SingleFlight<K, V> of(Function<? super K, ? extends Promise<V>> loader) {
+        return new SingleFlight<>(Objects.requireNonNull(loader, "loader"), 0L);
+    }
+
+    /**
+     * Creates a single flight group which loads values using the given function, and caches successful results
+     * for the given duration.
+     *
+     * @param loader   the function to start a load
+     * @param duration how long to cache results for
+     * @param unit     the unit of the duration
+     * @param <K>      the key type
+     * @param <V>      the value type
+     * @return a new single flight group
+     */
+    public static <K, V> SingleFlight<K, V> of(Function<? super K, ? extends Promise<V>> loader, long duration,
+                                               TimeUnit unit) {
+        Objects.requireNonNull(loader, "loader");
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(duration > 0);
+        return new SingleFlight<>(loader, unit.toNanos(duration));
+    }
+
+    /**
+     * Creates a single flight group which computes values in the given context, without caching them.
+     *
+     * @param context the context to compute values in
+     * @param loader  the function to compute a value
+     * @param <K>     the key type
+     * @param <V>     the value type
+     * @return a new single flight group
+     */
+    public static <K, V> SingleFlight<K, V> supplying(ThreadContext context, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(loader, "loader");
+        return of(key -> Promise.supplying(context, () -> loader.apply(key)));
+    }
+
+    /**
+     * Creates a single flight group which computes values in the given context, and caches successful results for
+     * the given duration.
+     *
+     * @param context  the context to compute values in
+     * @param loader   the function to compute a value
+     * @param duration how long to cache results for
+     * @param unit     the unit of the duration
+     * @param <K>      the key type
+     * @param <V>      the value type
+     * @return a new single flight group
+     */
+    public static <K, V> SingleFlight<K, V> supplying(ThreadContext context, Function<? super K, ? extends V> loader,
+                                                      long duration, TimeUnit unit) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(loader, "loader");
+        return of(key -> Promise.supplying(context, () -> loader.apply(key)), duration, unit);
+    }
+
+    /**
+     * Gets a promise of the value for the given key, sharing the load already in flight if there is one.
+     *
+     * <p>Requests which share a load already in flight count as hits, so only the request which starts a load
+     * counts as a miss.</p>
+     *
+     * @param key the key
+     * @return a promise of the value
+     */
+    public @NotNull Promise<V> get(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+
+        V cached = lookup(key);
+        if (cached != null) {
+            this.stats.recordHit();
+            return Promise.completed(cached);
+        }
+
+        Promise<V> existing = this.inFlight.get(key);
+        if (existing != null) {
+            this.stats.recordHit();
+            return existing;
+        }
+
+        Promise<V> promise = Promise.empty();
+        existing = this.inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            this.stats.recordHit();
+            return existing;
+        }
+
+        // this caller won the race - start the load
+        this.stats.recordMiss();
+        long startedAt = StatsCounter.startLoad();
+        Promise<V> load;
+        try {
+            load = Objects.requireNonNull(this.loader.apply(key), "loader returned null");
+        } catch (Throwable t) {
+            this.stats.recordLoadFailure(startedAt);
+            this.inFlight.remove(key, promise);
+            return promise.supplyException(t);
+        }
+
+        load.toCompletableFuture().whenComplete((value, t) -> {
+            if (t != null) {
+                this.stats.recordLoadFailure(startedAt);
+            } else {
+                this.stats.recordLoad(value, startedAt);
+            }
+            if (t == null && value != null && this.ttlNanos != 0) {
+                long now = Time.tickNanos();
+                this.cache.put(key, new Cached<>(value, now + this.ttlNanos));
+                sweepIfDue(now);
+            }
+            // remove before completing, so that callbacks which request the key again start a fresh load
+            this.inFlight.remove(key, promise);
+            if (t != null) {
+                promise.supplyException(t);
+            } else {
+                promise.supply(value);
+            }
+        });
+        return promise;
+    }
+
+    /**
+     * Gets the cached value for the given key, if there is one which hasn't expired.
+     *
+     * @param key the key
+     * @return the cached value, or null
+     */
+    public @Nullable V getIfPresent(@NotNull K key) {
+        V value = lookup(key);
+        if (value != null) {
+            this.stats.recordHit();
+        } else {
+            this.stats.recordMiss();
+        }
+        return value;
+    }
+
+    /**
+     * Removes the cached value for the given key. Loads already in flight are unaffected.
+     *
+     * @param key the key
+     */
+    public void invalidate(@NotNull K key) {
+        this.cache.remove(key);
+    }
+
+    /**
+     * Removes all cached values. Loads already in flight are unaffected.
+     */
+    public void invalidateAll() {
+        this.cache.clear();
+    }
+
+    /**
+     * Removes every cached result which has expired.
+     *
+     * <p>Expired results are also removed when they are next requested, and by a sweep which runs at most once per
+     * duration when a new result is cached, so this only needs to be called to free memory sooner.</p>
+     */
+    public void cleanUp() {
+        sweep(Time.tickNanos());
+    }
+
+    /**
+     * Gets the number of keys with a load in flight.
+     *
+     * @return the number of loads in flight
+     */
+    public int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    /**
+     * Starts recording the statistics reported through {@link CacheStats}, which are all zero until this is called.
+     *
+     * <p>May be called at any time. Counts start from the first call.</p>
+     *
+     * @return this cache
+     */
+    public synchronized SingleFlight<K, V> recordStats() {
+        if (this.stats == StatsCounter.disabled()) {
+            this.stats = new StatsCounter();
+        }
+        return this;
+    }
+
+    @Override
+    public long getHitCount() {
+        return this.stats.hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override
+    public long getLoadSuccessCount() {
+        return this.stats.loadSuccessCount();
+    }
+
+    @Override
+    public long getLoadFailureCount() {
+        return this.stats.loadFailureCount();
+    }
+
+    @Override
+    public long getTotalLoadTimeNanos() {
+        return this.stats.totalLoadTimeNanos();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return this.cache.size();
+    }
+
+    // results for keys which are never requested again would otherwise stay cached forever
+    private void sweepIfDue(long now) {
+        long nextSweepAt = this.nextSweepAt.get();
+        if (now - nextSweepAt >= 0 && this.nextSweepAt.compareAndSet(nextSweepAt, now + this.ttlNanos)) {
+            sweep(now);
+        }
+    }
+
+    private void sweep(long now) {
+        for (Map.Entry<K, Cached<V>> e : this.cache.entrySet()) {
+            if (now - e.getValue().expiresAt >= 0 && this.cache.remove(e.getKey(), e.getValue())) {
+                this.stats.recordEviction();
+            }
+        }
+    }
+
+    private @Nullable V lookup(K key) {
+        if (this.ttlNanos == 0) {
+            return null;
+        }
+        Cached<V> cached = this.cache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (Time.tickNanos() - cached.expiresAt >= 0) {
+            if (this.cache.remove(key, cached)) {
+                this.stats.recordEviction();
+            }
+            return null;
+        }
+        return cached.value;
+    }
+
+    private record Cached<V>(V value, long expiresAt) {
+
+    }
+}
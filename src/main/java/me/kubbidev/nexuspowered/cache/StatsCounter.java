@@ -0,0 +1,177 @@
+package me.kubbidev.nexuspowered.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Records the statistics which the caches in this package report through {@link CacheStats}.
+ *
+ * <p>Load times are measured with {@link System#nanoTime()} rather than the tick clock, which may only advance
+ * once per tick.</p>
+ *
+ * <p>Caches only record statistics once asked to, and until then share the counter returned by
+ * {@link #disabled()}, which records nothing.</p>
+ */
+class StatsCounter {
+
+    private static final StatsCounter DISABLED = new Disabled();
+
+    private final LongAdder hits           = new LongAdder();
+    private final LongAdder misses         = new LongAdder();
+    private final LongAdder loadSuccesses  = new LongAdder();
+    private final LongAdder loadFailures   = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+    private final LongAdder evictions      = new LongAdder();
+
+    /**
+     * Gets the shared counter which ignores everything recorded with it, so always reports zero.
+     */
+    static StatsCounter disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Gets the current time, to pass to {@link #recordLoadSuccess(long)} or {@link #recordLoadFailure(long)} once
+     * the load is finished.
+     */
+    static long startLoad() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Calls the supplier, recording the time taken and whether it returned a value.
+     */
+    <T> T load(Supplier<? extends T> supplier) {
+        long startedAt = startLoad();
+        T value;
+        try {
+            value = supplier.get();
+        } catch (Throwable t) {
+            recordLoadFailure(startedAt);
+            throw t;
+        }
+        recordLoad(value, startedAt);
+        return value;
+    }
+
+    /**
+     * Calls the loader, recording the time taken and whether it returned a value.
+     */
+    <K, V> V load(K key, Function<? super K, ? extends V> loader) {
+        long startedAt = startLoad();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (Throwable t) {
+            recordLoadFailure(startedAt);
+            throw t;
+        }
+        recordLoad(value, startedAt);
+        return value;
+    }
+
+    void recordHit() {
+        this.hits.increment();
+    }
+
+    void recordMiss() {
+        this.misses.increment();
+    }
+
+    void recordLoadSuccess(long startedAt) {
+        this.loadSuccesses.increment();
+        this.totalLoadNanos.add(System.nanoTime() - startedAt);
+    }
+
+    void recordLoadFailure(long startedAt) {
+        this.loadFailures.increment();
+        this.totalLoadNanos.add(System.nanoTime() - startedAt);
+    }
+
+    /**
+     * Records the result of a load, treating a null value as a failure.
+     */
+    void recordLoad(Object value, long startedAt) {
+        if (value != null) {
+            recordLoadSuccess(startedAt);
+        } else {
+            recordLoadFailure(startedAt);
+        }
+    }
+
+    void recordEviction() {
+        this.evictions.increment();
+    }
+
+    void recordEvictions(int count) {
+        if (count > 0) {
+            this.evictions.add(count);
+        }
+    }
+
+    long hitCount() {
+        return this.hits.sum();
+    }
+
+    long missCount() {
+        return this.misses.sum();
+    }
+
+    long loadSuccessCount() {
+        return this.loadSuccesses.sum();
+    }
+
+    long loadFailureCount() {
+        return this.loadFailures.sum();
+    }
+
+    long totalLoadTimeNanos() {
+        return this.totalLoadNanos.sum();
+    }
+
+    long evictionCount() {
+        return this.evictions.sum();
+    }
+
+    private static final class Disabled extends StatsCounter {
+
+        @Override
+        <T> T load(Supplier<? extends T> supplier) {
+            return supplier.get();
+        }
+
+        @Override
+        <K, V> V load(K key, Function<? super K, ? extends V> loader) {
+            return loader.apply(key);
+        }
+
+        @Override
+        void recordHit() {
+        }
+
+        @Override
+        void recordMiss() {
+        }
+
+        @Override
+        void recordLoadSuccess(long startedAt) {
+        }
+
+        @Override
+        void recordLoadFailure(long startedAt) {
+        }
+
+        @Override
+        void recordLoad(Object value, long startedAt) {
+        }
+
+        @Override
+        void recordEviction() {
+        }
+
+        @Override
+        void recordEvictions(int count) {
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package me.kubbidev.nexuspowered.cache;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import me.kubbidev.nexuspowered.time.Time;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The storage behind {@link LazyMap} and {@link ExpiringMap}.
+ *
+ * <p>Keys are split between a fixed number of stripes, each an open-addressed hash table (linear probing,
+ * backward-shift deletion) guarded by a {@link StampedLock}. Entries are stored directly in parallel arrays, so
+ * there is no node object per entry, and expiry times are kept in a {@code long[]}.</p>
+ *
+ * <p>Lookups of present entries use optimistic reads and don't write to shared memory. Loads hold the stripe's
+ * write lock, so each key is loaded at most once at a time; as with
+ * {@link java.util.concurrent.ConcurrentHashMap#computeIfAbsent(Object, Function)}, a loader must not access the
+ * map it is loading for.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class StripedTable<K, V> {
+
+    private static final int   INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR      = 0.75f;
+    private static final int   MAX_STRIPES      = 1 << 16;
+
+    private final    Stripe[]     stripes;
+    private final    int          shift;
+    private final    boolean      timed;
+    private volatile StatsCounter stats = StatsCounter.disabled();
+
+    StripedTable(int concurrencyLevel, boolean timed) {
+        Preconditions.checkArgument(concurrencyLevel > 0, "concurrencyLevel must be > 0");
+        int count = 1;
+        while (count < concurrencyLevel && count < MAX_STRIPES) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(timed);
+        }
+        this.shift = 32 - Integer.numberOfTrailingZeros(count);
+        this.timed = timed;
+    }
+
+    /**
+     * Records hits, misses, loads and evictions with the given counter.
+     */
+    void recordStats(StatsCounter stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Gets the value for the key, if present and not expired at the given time, recording a hit or a miss.
+     */
+    @Nullable V get(Object key, long now) {
+        V value = lookup(key, now);
+        if (value != null) {
+            this.stats.recordHit();
+        } else {
+            this.stats.recordMiss();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable V lookup(Object key, long now) {
+        int hash = spread(key.hashCode());
+        Stripe stripe = stripeFor(hash);
+
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] keys = stripe.keys;
+            Object[] values = stripe.values;
+            long[] expiries = stripe.expiries;
+            int slot = find(keys, key, hash);
+            // the arrays may be from different generations of the table - validation fails in that case, but the
+            // reads must still stay in bounds
+            Object value = slot < 0 || slot >= values.length ? null : values[slot];
+            long expiry = value == null || !this.timed || slot >= expiries.length ? 0 : expiries[slot];
+            if (stripe.lock.validate(stamp)) {
+                return value == null || (this.timed && now - expiry >= 0) ? null : (V) value;
+            }
+        }
+
+        stamp = stripe.lock.readLock();
+        try {
+            int slot = find(stripe.keys, key, hash);
+            if (slot < 0 || (this.timed && now - stripe.expiries[slot] >= 0)) {
+                return null;
+            }
+            return (V) stripe.values[slot];
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the value for the key, loading it if it is absent or expired.
+     *
+     * @param durationNanos how long a loaded value lives for, if the table is timed
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable V load(K key, Function<? super K, ? extends V> loader, long durationNanos) {
+        int hash = spread(key.hashCode());
+        Stripe stripe = stripeFor(hash);
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            // recheck, another thread may have loaded the value while we waited for the lock
+            int slot = find(stripe.keys, key, hash);
+            long now = this.timed ? Time.tickNanos() : 0;
+            if (slot >= 0 && (!this.timed || now - stripe.expiries[slot] < 0)) {
+                return (V) stripe.values[slot];
+            }
+
+            if (slot >= 0) {
+                this.stats.recordEviction();
+            }
+            V value = this.stats.load(key, loader);
+            if (value == null) {
+                if (slot >= 0) {
+                    stripe.remove(slot);
+                }
+                return null;
+            }
+
+            if (slot < 0) {
+                slot = stripe.insert(key, hash);
+            }
+            stripe.values[slot] = value;
+            if (this.timed) {
+                stripe.expiries[slot] = now + durationNanos;
+            }
+            return value;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    void remove(Object key) {
+        int hash = spread(key.hashCode());
+        Stripe stripe = stripeFor(hash);
+
+        long stamp = stripe.lock.writeLock();
+        try {
+            int slot = find(stripe.keys, key, hash);
+            if (slot >= 0) {
+                stripe.remove(slot);
+            }
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    void clear() {
+        for (Stripe stripe : this.stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.reset(INITIAL_CAPACITY);
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry which has expired at the given time.
+     */
+    void removeExpired(long now) {
+        if (!this.timed) {
+            return;
+        }
+        for (Stripe stripe : this.stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                int i = 0;
+                while (i < stripe.keys.length) {
+                    // removal may shift a later entry into this slot, so check it again
+                    if (stripe.keys[i] != null && now - stripe.expiries[i] >= 0) {
+                        stripe.remove(i);
+                        this.stats.recordEviction();
+                    } else {
+                        i++;
+                    }
+                }
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : this.stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(int hash) {
+        return this.stripes.length == 1 ? this.stripes[0] : this.stripes[hash >>> this.shift];
+    }
+
+    private static int find(Object[] keys, Object key, int hash) {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        // bounded, as under an optimistic read the table may be changing beneath us
+        for (int n = 0; n < keys.length; n++) {
+            Object k = keys[i];
+            if (k == null) {
+                return -1;
+            }
+            if (k == key || k.equals(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private final boolean     timed;
+
+        private Object[] keys;
+        private Object[] values;
+        private long[]   expiries;
+        private int      size;
+
+        private Stripe(boolean timed) {
+            this.timed = timed;
+            reset(INITIAL_CAPACITY);
+        }
+
+        private void reset(int capacity) {
+            this.keys = new Object[capacity];
+            this.values = new Object[capacity];
+            this.expiries = this.timed ? new long[capacity] : null;
+            this.size = 0;
+        }
+
+        /**
+         * Claims a slot for a key which isn't present, growing the table if needed.
+         */
+        private int insert(Object key, int hash) {
+            if (this.size + 1 > this.keys.length * LOAD_FACTOR) {
+                resize();
+            }
+            int mask = this.keys.length - 1;
+            int i = hash & mask;
+            while (this.keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            this.keys[i] = key;
+            this.size++;
+            return i;
+        }
+
+        private void resize() {
+            Object[] oldKeys = this.keys;
+            Object[] oldValues = this.values;
+            long[] oldExpiries = this.expiries;
+
+            // fresh arrays, so optimistic readers of the old ones still see a consistent table
+            reset(oldKeys.length << 1);
+            int mask = this.keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                Object key = oldKeys[j];
+                if (key == null) {
+                    continue;
+                }
+                int i = spread(key.hashCode()) & mask;
+                while (this.keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                this.keys[i] = key;
+                this.values[i] = oldValues[j];
+                if (this.timed) {
+                    this.expiries[i] = oldExpiries[j];
+                }
+                this.size++;
+            }
+        }
+
+        private void remove(int slot) {
+            int mask = this.keys.length - 1;
+            int i = slot;
+            int j = slot;
+            while (true) {
+                j = (j + 1) & mask;
+                Object key = this.keys[j];
+                if (key == null) {
+                    break;
+                }
+                // move the entry back into the gap, unless its ideal slot lies in (i, j]
+                int ideal = spread(key.hashCode()) & mask;
+                boolean reachable = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+                if (!reachable) {
+                    this.keys[i] = key;
+                    this.values[i] = this.values[j];
+                    if (this.timed) {
+                        this.expiries[i] = this.expiries[j];
+                    }
+                    i = j;
+                }
+            }
+            this.keys[i] = null;
+            this.values[i] = null;
+            this.size--;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Objects;
 import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import me.kubbidev.nexuspowered.cache.CacheStats;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -25,7 +26,22 @@ public interface ComposedCooldownMap<I, O> {
                                                             @NotNull Function<I, O> composeFunction) {
         Objects.requireNonNull(base, "base");
         Objects.requireNonNull(composeFunction, "composeFunction");
-        return new ComposedCooldownMapImpl<>(base, composeFunction);
+        return new ComposedCooldownMapImpl<>(base, composeFunction, false);
+    }
+
+    /**
+     * Creates a new collection with the cooldown properties defined by the base instance.
+     *
+     * @param base        the cooldown to base off
+     * @param recordStats if statistics should be recorded for {@link #getStats()}
+     * @return a new collection
+     */
+    static @NotNull <I, O> ComposedCooldownMap<I, O> create(@NotNull Cooldown base,
+                                                            @NotNull Function<I, O> composeFunction,
+                                                            boolean recordStats) {
+        Objects.requireNonNull(base, "base");
+        Objects.requireNonNull(composeFunction, "composeFunction");
+        return new ComposedCooldownMapImpl<>(base, composeFunction, recordStats);
     }
 
     /**
@@ -55,6 +71,17 @@ public interface ComposedCooldownMap<I, O> {
      */
     @NotNull Map<O, Cooldown> getAll();
 
+    /**
+     * Gets statistics for the cache of cooldown instances backing this collection.
+     *
+     * <p>Implementations which don't record statistics report only their size, with every count zero.</p>
+     *
+     * @return the cache statistics
+     */
+    default @NotNull CacheStats getStats() {
+        return new CacheStats.Snapshot(0, 0, 0, 0, 0, 0, this.getAll().size());
+    }
+
     /* methods from Cooldown */
 
     default boolean test(@NotNull I key) {
@@ -8,6 +8,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import me.kubbidev.nexuspowered.cache.CacheStats;
 import org.jetbrains.annotations.NotNull;
 
 class ComposedCooldownMapImpl<I, O> implements ComposedCooldownMap<I, O> {
@@ -16,18 +17,21 @@ class ComposedCooldownMapImpl<I, O> implements ComposedCooldownMap<I, O> {
     private final LoadingCache<O, Cooldown> cache;
     private final Function<I, O>            composeFunction;
 
-    ComposedCooldownMapImpl(Cooldown base, Function<I, O> composeFunction) {
+    ComposedCooldownMapImpl(Cooldown base, Function<I, O> composeFunction, boolean recordStats) {
         this.base = base;
         this.composeFunction = composeFunction;
-        this.cache = CacheBuilder.newBuilder()
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder()
             // remove from the cache 10 seconds after the cooldown expires
-            .expireAfterAccess(base.getTimeout() + 10000L, TimeUnit.MILLISECONDS)
-            .build(new CacheLoader<>() {
-                @Override
-                public @NotNull Cooldown load(@NotNull O key) {
-                    return base.copy();
-                }
-            });
+            .expireAfterAccess(base.getTimeout() + 10000L, TimeUnit.MILLISECONDS);
+        if (recordStats) {
+            builder.recordStats();
+        }
+        this.cache = builder.build(new CacheLoader<>() {
+            @Override
+            public @NotNull Cooldown load(@NotNull O key) {
+                return base.copy();
+            }
+        });
     }
 
     @Override
@@ -50,4 +54,9 @@ class ComposedCooldownMapImpl<I, O> implements ComposedCooldownMap<I, O> {
     public @NotNull Map<O, Cooldown> getAll() {
         return this.cache.asMap();
     }
+
+    @Override
+    public @NotNull CacheStats getStats() {
+        return CacheStats.of(this.cache);
+    }
 }
\ No newline at end of file
@@ -83,14 +83,14 @@ public interface Cooldown extends GsonSerializable {
      * @return the elapsed time
      */
     default long elapsed() {
-        return Time.nowMillis() - this.getLastTested().orElse(0);
+        return Time.tickMillis() - this.getLastTested().orElse(0);
     }
 
     /**
      * Resets the cooldown
      */
     default void reset() {
-        this.setLastTested(Time.nowMillis());
+        this.setLastTested(Time.tickMillis());
     }
 
     /**
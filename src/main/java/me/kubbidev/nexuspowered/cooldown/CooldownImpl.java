@@ -4,6 +4,7 @@ import com.google.gson.JsonElement;
 import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 import me.kubbidev.nexuspowered.gson.GsonBuilder;
+import me.kubbidev.nexuspowered.time.Time;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.NotNullByDefault;
 
@@ -34,6 +35,12 @@ class CooldownImpl implements Cooldown {
         }
     }
 
+    @Override
+    public long elapsed() {
+        // avoid boxing the last tested time into an OptionalLong on every check
+        return Time.tickMillis() - this.lastTested;
+    }
+
     @Override
     public long getTimeout() {
         return this.timeout;
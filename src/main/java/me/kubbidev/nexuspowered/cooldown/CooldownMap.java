@@ -3,7 +3,9 @@ package me.kubbidev.nexuspowered.cooldown;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import me.kubbidev.nexuspowered.util.UuidHashMap;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -22,6 +24,18 @@ public interface CooldownMap<T> {
         return new CooldownMapImpl<>();
     }
 
+    /**
+     * Creates a new collection keyed by uuid, backed by a {@link UuidHashMap}.
+     *
+     * <p>This is preferable to {@link #create()} for per-player cooldowns, as keys are stored as primitive longs
+     * rather than in a node object per entry.</p>
+     *
+     * @return a new collection
+     */
+    static @NotNull CooldownMap<UUID> createUuidKeyed() {
+        return new CooldownMapImpl<>(new UuidHashMap<>());
+    }
+
     /**
      * Gets the internal cooldown instance associated with the given key.
      *
@@ -9,7 +9,15 @@ import org.jetbrains.annotations.NotNull;
 
 class CooldownMapImpl<T> implements CooldownMap<T> {
 
-    private final Map<T, Cooldown> cache = new HashMap<>();
+    private final Map<T, Cooldown> cache;
+
+    CooldownMapImpl() {
+        this(new HashMap<>());
+    }
+
+    CooldownMapImpl(Map<T, Cooldown> cache) {
+        this.cache = cache;
+    }
 
     public @NotNull Optional<Cooldown> get(@NotNull T key) {
         return Optional.ofNullable(this.cache.get(key));
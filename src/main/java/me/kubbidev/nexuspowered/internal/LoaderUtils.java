@@ -16,8 +16,9 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class LoaderUtils {
 
-    private static NexusPlugin plugin     = null;
-    private static Thread      mainThread = null;
+    private static          NexusPlugin plugin     = null;
+    // read on every sync check - volatile so that the lookup doesn't need to take the class lock
+    private static volatile Thread      mainThread = null;
 
     private LoaderUtils() {
         throw new UnsupportedOperationException("This class cannot be instantiated");
@@ -45,6 +46,13 @@ public final class LoaderUtils {
         LoaderUtils.plugin = plugin;
     }
 
+    /**
+     * To be used for testing only.
+     */
+    public static synchronized void forceSetMainThread(Thread mainThread) {
+        LoaderUtils.mainThread = mainThread;
+    }
+
     public static Set<Plugin> getNexusImplementationPlugins() {
         return Stream.concat(
             Stream.of(getPlugin()),
@@ -60,7 +68,15 @@ public final class LoaderUtils {
         ).collect(Collectors.toSet());
     }
 
-    public static synchronized @NotNull Thread getMainThread() {
+    public static @NotNull Thread getMainThread() {
+        Thread thread = mainThread;
+        if (thread == null) {
+            thread = resolveMainThread();
+        }
+        return thread;
+    }
+
+    private static synchronized Thread resolveMainThread() {
         if (mainThread == null) {
             if (Bukkit.getServer().isPrimaryThread()) {
                 mainThread = Thread.currentThread();
@@ -8,6 +8,7 @@ import me.kubbidev.nexuspowered.internal.exception.type.EventHandlerException;
 import me.kubbidev.nexuspowered.internal.exception.type.PromiseChainException;
 import me.kubbidev.nexuspowered.internal.exception.type.SchedulerTaskException;
 import me.kubbidev.nexuspowered.util.Log;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Central handler for exceptions that occur within user-written Runnables and handlers running in nexuspowered.
@@ -43,6 +44,21 @@ public final class NexusExceptions {
         log(new PromiseChainException(throwable));
     }
 
+    /**
+     * Reports an exception thrown within a promise chain, along with the creation sites of the chain's stages.
+     *
+     * @param throwable the exception
+     * @param chain     the creation sites, most recent first, or null if unknown
+     */
+    public static void reportPromise(Throwable throwable, @Nullable StackTraceElement[] chain) {
+        PromiseChainException exception = new PromiseChainException(throwable);
+        if (chain != null) {
+            // the stack of the executor thread says nothing useful - replace it with the logical chain
+            exception.setStackTrace(chain);
+        }
+        log(exception);
+    }
+
     public static void reportEvent(Object event, Throwable throwable) {
         log(new EventHandlerException(throwable, event));
     }
@@ -13,6 +13,41 @@ public final class NexusProperties {
      */
     public static final Property<Boolean> DEBUG = property("debug", Boolean::parseBoolean, false);
 
+    /**
+     * Property for specifying the maximum number of tasks running at once on the virtual thread executor.
+     */
+    public static final Property<Integer> VIRTUAL_MAX_IN_FLIGHT = property("virtualMaxInFlight", Integer::parseInt,
+        256);
+
+    /**
+     * Property for specifying the time, in nanoseconds, the sync executor may spend draining its queue each tick.
+     */
+    public static final Property<Long> SYNC_TICK_BUDGET_NANOS = property("syncTickBudgetNanos", Long::parseLong,
+        10_000_000L);
+
+    /**
+     * Property for specifying whether scheduler timings are recorded from startup.
+     */
+    public static final Property<Boolean> TIMINGS = property("timings", Boolean::parseBoolean, false);
+
+    /**
+     * Property for specifying whether promise chains are traced from startup.
+     */
+    public static final Property<Boolean> PROMISE_TRACING = property("promiseTracing", Boolean::parseBoolean, false);
+
+    /**
+     * Property for specifying how many new promise chains are created for each one which is traced.
+     */
+    public static final Property<Integer> PROMISE_TRACING_SAMPLE_INTERVAL = property("promiseTracingSampleInterval",
+        Integer::parseInt, 1);
+
+    /**
+     * Property for specifying whether the player, entity and world metadata registries are backed by
+     * {@link me.kubbidev.nexuspowered.util.ConcurrentUuidMap}.
+     */
+    public static final Property<Boolean> UUID_METADATA_MAPS = property("uuidMetadataMaps", Boolean::parseBoolean,
+        false);
+
     private NexusProperties() {
     }
 
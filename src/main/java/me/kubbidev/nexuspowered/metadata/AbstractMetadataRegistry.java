@@ -1,7 +1,9 @@
 package me.kubbidev.nexuspowered.metadata;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import me.kubbidev.nexuspowered.cache.LoadingMap;
 import org.jetbrains.annotations.NotNull;
@@ -14,7 +16,20 @@ import org.jetbrains.annotations.NotNull;
 public class AbstractMetadataRegistry<T> implements MetadataRegistry<T> {
 
     private static final Function<?, MetadataMap>   LOADER = new Loader<>();
-    protected final      LoadingMap<T, MetadataMap> cache  = LoadingMap.of(getLoader());
+    protected final      LoadingMap<T, MetadataMap> cache;
+
+    public AbstractMetadataRegistry() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Creates a registry which stores its metadata maps in the given map.
+     *
+     * @param map the backing map, which must be thread safe
+     */
+    protected AbstractMetadataRegistry(@NotNull Map<T, MetadataMap> map) {
+        this.cache = LoadingMap.of(Objects.requireNonNull(map, "map"), getLoader());
+    }
 
     @SuppressWarnings("unchecked")
     private static <T> Function<T, MetadataMap> getLoader() {
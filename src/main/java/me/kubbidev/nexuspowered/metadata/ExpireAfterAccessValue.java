@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import me.kubbidev.nexuspowered.time.Time;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -20,7 +21,7 @@ public class ExpireAfterAccessValue<T> implements TransientValue<T> {
     private ExpireAfterAccessValue(T value, long millis) {
         this.value = value;
         this.millis = millis;
-        this.expireAt = System.currentTimeMillis() + this.millis;
+        this.expireAt = Time.tickMillis() + this.millis;
     }
 
     public static <T> ExpireAfterAccessValue<T> of(T value, long duration, TimeUnit unit) {
@@ -56,13 +57,13 @@ public class ExpireAfterAccessValue<T> implements TransientValue<T> {
         }
 
         // reset expiry time
-        this.expireAt = System.currentTimeMillis() + this.millis;
+        this.expireAt = Time.tickMillis() + this.millis;
         return this.value;
     }
 
     @Override
     public boolean shouldExpire() {
-        return System.currentTimeMillis() > this.expireAt;
+        return Time.tickMillis() > this.expireAt;
     }
 
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import me.kubbidev.nexuspowered.time.Time;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -18,7 +19,7 @@ public final class ExpiringValue<T> implements TransientValue<T> {
 
     private ExpiringValue(T value, long millis) {
         this.value = value;
-        this.expireAt = System.currentTimeMillis() + millis;
+        this.expireAt = Time.tickMillis() + millis;
     }
 
     public static <T> ExpiringValue<T> of(T value, long duration, TimeUnit unit) {
@@ -53,7 +54,7 @@ public final class ExpiringValue<T> implements TransientValue<T> {
 
     @Override
     public boolean shouldExpire() {
-        return System.currentTimeMillis() > this.expireAt;
+        return Time.tickMillis() > this.expireAt;
     }
 
 }
\ No newline at end of file
@@ -5,11 +5,14 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import me.kubbidev.nexuspowered.internal.properties.NexusProperties;
 import me.kubbidev.nexuspowered.metadata.type.BlockMetadataRegistry;
 import me.kubbidev.nexuspowered.metadata.type.EntityMetadataRegistry;
 import me.kubbidev.nexuspowered.metadata.type.PlayerMetadataRegistry;
 import me.kubbidev.nexuspowered.metadata.type.WorldMetadataRegistry;
 import me.kubbidev.nexuspowered.serialize.BlockPosition;
+import me.kubbidev.nexuspowered.util.ConcurrentUuidMap;
 import me.kubbidev.nexuspowered.util.Players;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
@@ -45,8 +48,15 @@ final class StandardMetadataRegistries {
         return VALUES;
     }
 
+    private static Map<UUID, MetadataMap> createUuidMap() {
+        return NexusProperties.UUID_METADATA_MAPS.value() ? ConcurrentUuidMap.create() : new ConcurrentHashMap<>();
+    }
+
     private static final class PlayerRegistry extends AbstractMetadataRegistry<UUID> implements PlayerMetadataRegistry {
 
+        private PlayerRegistry() {
+            super(createUuidMap());
+        }
 
         @Override
         public @NotNull MetadataMap provide(@NotNull Player player) {
@@ -76,6 +86,10 @@ final class StandardMetadataRegistries {
 
     private static final class EntityRegistry extends AbstractMetadataRegistry<UUID> implements EntityMetadataRegistry {
 
+        private EntityRegistry() {
+            super(createUuidMap());
+        }
+
         @NotNull
         private static Optional<Entity> getEntity(UUID uuid) {
             Optional<Entity> entity = Optional.empty();
@@ -133,6 +147,10 @@ final class StandardMetadataRegistries {
 
     private static final class WorldRegistry extends AbstractMetadataRegistry<UUID> implements WorldMetadataRegistry {
 
+        private WorldRegistry() {
+            super(createUuidMap());
+        }
+
         @Override
         public @NotNull MetadataMap provide(@NotNull World world) {
             Objects.requireNonNull(world, "world");
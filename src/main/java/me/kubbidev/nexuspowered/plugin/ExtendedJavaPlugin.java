@@ -14,6 +14,7 @@ import me.kubbidev.nexuspowered.internal.LoaderUtils;
 import me.kubbidev.nexuspowered.scheduler.NexusExecutors;
 import me.kubbidev.nexuspowered.terminable.composite.CompositeTerminable;
 import me.kubbidev.nexuspowered.terminable.module.TerminableModule;
+import me.kubbidev.nexuspowered.time.Clock;
 import me.kubbidev.nexuspowered.util.CommandMapUtil;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -69,6 +70,7 @@ public abstract class ExtendedJavaPlugin extends JavaPlugin implements NexusPlug
         // setup services
         if (this.isLoaderPlugin) {
             NexusServices.setup(this);
+            Clock.tick().start(this);
         }
 
         // call subclass
@@ -87,6 +89,7 @@ public abstract class ExtendedJavaPlugin extends JavaPlugin implements NexusPlug
         if (this.isLoaderPlugin) {
             // shutdown the scheduler
             NexusExecutors.shutdown();
+            Clock.tick().stop();
         }
     }
 
@@ -3,98 +3,157 @@ package me.kubbidev.nexuspowered.promise;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
-import java.util.Objects;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import me.kubbidev.nexuspowered.interfaces.Delegate;
-import me.kubbidev.nexuspowered.internal.LoaderUtils;
 import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
 import me.kubbidev.nexuspowered.scheduler.NexusExecutors;
 import me.kubbidev.nexuspowered.scheduler.Ticks;
-import org.bukkit.Bukkit;
+import me.kubbidev.nexuspowered.scheduler.timings.Timings;
+import me.kubbidev.nexuspowered.terminable.Terminable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Implementation of {@link Promise} using the server scheduler.
  *
+ * <p>The state of the promise is held in a single {@link #result} field, updated by CAS. Dependent
+ * stages are pushed onto an intrusive stack of {@link Completion}s, each of which is also the runnable
+ * handed to the scheduler, so a stage costs one node and one promise.</p>
+ *
+ * <p>Sync stages are fused where possible: stages which become runnable while on the main thread are run in
+ * the same hop, and the sync stages released by a completion on another thread are handed to the main thread
+ * as a single batch.</p>
+ *
  * @param <V> the result type
  */
 final class NexusPromise<V> implements Promise<V> {
 
+    private static final VarHandle RESULT;
+    private static final VarHandle STACK;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            RESULT = lookup.findVarHandle(NexusPromise.class, "result", Object.class);
+            STACK = lookup.findVarHandle(NexusPromise.class, "stack", Completion.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
-     * If the promise is currently being supplied
+     * The result of a promise which was completed with null
      */
-    private final AtomicBoolean        supplied  = new AtomicBoolean(false);
+    private static final Object SUPPLIED_NULL = new Object();
+
     /**
-     * If the execution of the promise is cancelled
+     * The state of a promise which is currently being supplied
      */
-    private final AtomicBoolean        cancelled = new AtomicBoolean(false);
+    private static final Object SUPPLYING = new Object();
+
     /**
-     * The completable future backing this promise
+     * Returned by {@link Stage#accept(Object)} when the stage has been handled without running its function
      */
-    @NotNull
-    private final CompletableFuture<V> fut;
+    private static final Object SKIP = new Object();
 
-    private NexusPromise() {
-        this.fut = new CompletableFuture<>();
-    }
+    /**
+     * Sync stages which became runnable while another was running inline - only accessed from the main thread
+     */
+    private static final ArrayDeque<Runnable> SYNC_TRAMPOLINE = new ArrayDeque<>();
+    private static       boolean              syncDraining    = false;
 
-    private NexusPromise(@Nullable V v) {
-        this.fut = CompletableFuture.completedFuture(v);
-        this.supplied.set(true);
-    }
+    /**
+     * Marks the stack of a completed promise - completions pushed after this point run immediately
+     */
+    private static final Completion DONE = new Completion() {
+        @Override
+        void fire(Object result) {
+        }
+    };
+
+    /**
+     * The state of the promise: null if pending, {@link #SUPPLYING} if pending and being supplied, otherwise the
+     * result - {@link #SUPPLIED_NULL}, a {@link Failure} or the value itself
+     */
+    @SuppressWarnings("unused") // accessed via RESULT
+    private volatile Object     result;
+    /**
+     * The stack of completions to fire when the promise completes
+     */
+    @SuppressWarnings("unused") // accessed via STACK
+    private volatile Completion stack;
+    /**
+     * The {@link System#nanoTime()} by which the promise must complete, or 0 if there is no deadline. Inherited by
+     * apply and compose stages.
+     */
+    private volatile long       deadline;
 
-    private NexusPromise(@NotNull Throwable t) {
-        (this.fut = new CompletableFuture<>()).completeExceptionally(t);
-        this.supplied.set(true);
+    /**
+     * The creation site of the promise, if it is being traced
+     */
+    @Nullable
+    private final PromiseTrace trace;
+
+    private NexusPromise(@Nullable PromiseTrace parent) {
+        this.trace = PromiseTracing.start(parent);
     }
 
-    private NexusPromise(@NotNull CompletableFuture<V> fut) {
-        this.fut = Objects.requireNonNull(fut, "future");
-        this.supplied.set(true);
-        this.cancelled.set(fut.isCancelled());
+    private NexusPromise(Object result) {
+        this.trace = result == SUPPLYING ? PromiseTracing.start(null) : null;
+        RESULT.setRelease(this, result);
+        STACK.setRelease(this, result == SUPPLYING ? null : DONE);
     }
 
     @NotNull
     static <U> NexusPromise<U> empty() {
-        return new NexusPromise<>();
+        return new NexusPromise<>((PromiseTrace) null);
     }
 
     @NotNull
     static <U> NexusPromise<U> completed(@Nullable U value) {
-        return new NexusPromise<>(value);
+        return new NexusPromise<>(encode(value));
     }
 
     @NotNull
     static <U> NexusPromise<U> exceptionally(@NotNull Throwable t) {
-        return new NexusPromise<>(t);
+        return new NexusPromise<>(new Failure(t));
     }
 
     @NotNull
     static <U> Promise<U> wrapFuture(@NotNull Future<U> future) {
         switch (future) {
-            case CompletableFuture<?> ignored -> {
-                return new NexusPromise<>(((CompletableFuture<U>) future).thenApply(Function.identity()));
-            }
             case CompletionStage<?> ignored -> {
                 @SuppressWarnings("unchecked")
                 CompletionStage<U> fut = (CompletionStage<U>) future;
-                return new NexusPromise<>(fut.toCompletableFuture().thenApply(Function.identity()));
-
+                NexusPromise<U> promise = new NexusPromise<>(SUPPLYING);
+                fut.whenComplete((value, t) -> {
+                    if (t != null) {
+                        promise.completeExceptionally(t);
+                    } else {
+                        promise.complete(value);
+                    }
+                });
+                return promise;
             }
             case ListenableFuture<?> ignored -> {
                 ListenableFuture<U> fut = (ListenableFuture<U>) future;
-                NexusPromise<U> promise = empty();
-                promise.supplied.set(true);
+                NexusPromise<U> promise = new NexusPromise<>(SUPPLYING);
 
                 Futures.addCallback(fut, new FutureCallback<>() {
                     @Override
@@ -106,7 +165,7 @@ final class NexusPromise<V> implements Promise<V> {
                     public void onFailure(@NotNull Throwable t) {
                         promise.completeExceptionally(t);
                     }
-                }, null);
+                }, Runnable::run);
 
                 return promise;
             }
@@ -126,50 +185,109 @@ final class NexusPromise<V> implements Promise<V> {
         }
     }
 
+    /**
+     * Registers an action to be called on the completing thread once the promise completes.
+     *
+     * @param promise the promise
+     * @param action  the action, accepting the value, or the exception if the promise failed
+     * @param <U>     the result type
+     */
+    static <U> void whenComplete(@NotNull Promise<? extends U> promise,
+                                 @NotNull BiConsumer<? super U, ? super Throwable> action) {
+        if (promise instanceof NexusPromise<? extends U> nexusPromise) {
+            nexusPromise.addCompletion(new CallbackCompletion<>(action));
+        } else {
+            promise.toCompletableFuture().whenComplete(action);
+        }
+    }
+
+    /* encoding */
+
+    private static Object encode(@Nullable Object value) {
+        return value == null ? SUPPLIED_NULL : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T decode(Object result) {
+        return result == SUPPLIED_NULL ? null : (T) result;
+    }
+
+    private static boolean isDone(Object result) {
+        return result != null && result != SUPPLYING;
+    }
+
     /* utility methods */
 
-    private void executeSync(@NotNull Runnable runnable) {
+    private static void executeSync(@NotNull Runnable runnable) {
         if (ThreadContext.forCurrentThread() == ThreadContext.SYNC) {
-            NexusExceptions.wrapSchedulerTask(runnable).run();
+            runSync(runnable);
         } else {
             NexusExecutors.sync().execute(runnable);
         }
     }
 
-    private void executeAsync(@NotNull Runnable runnable) {
+    private static void runSync(@NotNull Runnable runnable) {
+        try {
+            Timings.wrap(runnable).run();
+        } catch (Throwable t) {
+            NexusExceptions.reportScheduler(t);
+        }
+    }
+
+    // runs a dependent stage on the main thread. stages which become runnable while one is running
+    // are queued and run straight after it, rather than recursively, so long chains don't grow the
+    // stack. only stages go through here - supplies always run immediately, and a sync stage which
+    // waits on a promise drains the queue first, so it still sees the promise complete
+    private static void runStageInline(@NotNull Stage<?, ?> stage) {
+        if (syncDraining) {
+            SYNC_TRAMPOLINE.add(stage);
+            return;
+        }
+
+        syncDraining = true;
+        try {
+            Runnable next = stage;
+            do {
+                runSync(next);
+            } while ((next = SYNC_TRAMPOLINE.poll()) != null);
+        } finally {
+            syncDraining = false;
+        }
+    }
+
+    private static void executeAsync(@NotNull Runnable runnable) {
         NexusExecutors.asyncNexus().execute(runnable);
     }
 
-    private void executeDelayedSync(@NotNull Runnable runnable, long delayTicks) {
+    private static void executeVirtual(@NotNull Runnable runnable) {
+        NexusExecutors.virtual().execute(runnable);
+    }
+
+    private static void executeDelayedSync(@NotNull Runnable runnable, long delayTicks) {
         if (delayTicks <= 0) {
             executeSync(runnable);
         } else {
-            Bukkit.getScheduler()
-                .runTaskLater(LoaderUtils.getPlugin(), NexusExceptions.wrapSchedulerTask(runnable), delayTicks);
+            NexusExecutors.scheduleSync(runnable, delayTicks);
         }
     }
 
-    private void executeDelayedAsync(@NotNull Runnable runnable, long delayTicks) {
+    private static void executeDelayedAsync(@NotNull Runnable runnable, long delayTicks) {
         if (delayTicks <= 0) {
             executeAsync(runnable);
         } else {
-            Bukkit.getScheduler()
-                .runTaskLaterAsynchronously(LoaderUtils.getPlugin(), NexusExceptions.wrapSchedulerTask(runnable),
-                    delayTicks);
+            NexusExecutors.scheduleAsync(runnable, delayTicks);
         }
     }
 
-    private void executeDelayedSync(@NotNull Runnable runnable, long delay, TimeUnit unit) {
+    private static void executeDelayedSync(@NotNull Runnable runnable, long delay, TimeUnit unit) {
         if (delay <= 0) {
             executeSync(runnable);
         } else {
-            Bukkit.getScheduler()
-                .runTaskLater(LoaderUtils.getPlugin(), NexusExceptions.wrapSchedulerTask(runnable),
-                    Ticks.from(delay, unit));
+            NexusExecutors.scheduleSync(runnable, Ticks.from(delay, unit));
         }
     }
 
-    private void executeDelayedAsync(@NotNull Runnable runnable, long delay, TimeUnit unit) {
+    private static void executeDelayedAsync(@NotNull Runnable runnable, long delay, TimeUnit unit) {
         if (delay <= 0) {
             executeAsync(runnable);
         } else {
@@ -177,62 +295,359 @@ final class NexusPromise<V> implements Promise<V> {
         }
     }
 
+    // a null unit means the delay is in ticks
+    private static void execute(@NotNull Runnable runnable, ThreadContext context, long delay,
+                                @Nullable TimeUnit unit) {
+        switch (context) {
+            case SYNC -> {
+                if (unit == null) {
+                    executeDelayedSync(runnable, delay);
+                } else {
+                    executeDelayedSync(runnable, delay, unit);
+                }
+            }
+            case ASYNC -> {
+                if (unit == null) {
+                    executeDelayedAsync(runnable, delay);
+                } else {
+                    executeDelayedAsync(runnable, delay, unit);
+                }
+            }
+        }
+    }
+
+    private boolean completeWith(Object result) {
+        while (true) {
+            Object current = this.result;
+            if (isDone(current)) {
+                return false;
+            }
+            if (RESULT.compareAndSet(this, current, result)) {
+                postComplete(result);
+                return true;
+            }
+        }
+    }
+
+    private static Failure timedOut() {
+        return new Failure(new TimeoutException("Promise timed out"));
+    }
+
+    // schedules the promise to be completed with the given result at the deadline.
+    // a null result means the promise should be completed with a timeout exception.
+    private void scheduleTimeout(long deadline, @Nullable Object result) {
+        if (isDone()) {
+            return;
+        }
+
+        long delay = deadline - System.nanoTime();
+        if (delay <= 0) {
+            completeWith(result == null ? timedOut() : result);
+            return;
+        }
+
+        TimeoutTimer timer = new TimeoutTimer(this, result);
+        timer.future = NexusExecutors.scheduleTimeout(timer, delay, TimeUnit.NANOSECONDS);
+        // cancels the timer once the promise completes
+        addCompletion(timer);
+    }
+
+    private void inheritDeadline(NexusPromise<?> promise) {
+        long deadline = this.deadline;
+        if (deadline != 0) {
+            promise.deadline = deadline;
+        }
+    }
+
+    private void reportFailure(Throwable t) {
+        NexusExceptions.reportPromise(t, PromiseTracing.chain(this.trace));
+    }
+
     private boolean complete(V value) {
-        return !this.cancelled.get() && this.fut.complete(value);
+        return completeWith(encode(value));
     }
 
     private boolean completeExceptionally(@NotNull Throwable t) {
-        return !this.cancelled.get() && this.fut.completeExceptionally(t);
+        return completeWith(new Failure(t));
+    }
+
+    private void postComplete(Object result) {
+        if (this.trace != null) {
+            PromiseTracing.complete(this.trace);
+        }
+
+        Completion head = (Completion) STACK.getAndSet(this, DONE);
+
+        // the stack is LIFO - reverse it so that completions fire in the order they were added
+        Completion reversed = null;
+        while (head != null) {
+            Completion next = head.next;
+            head.next = reversed;
+            reversed = head;
+            head = next;
+        }
+
+        SyncBatch batch = null;
+        Boolean sync = null;
+        while (reversed != null) {
+            Completion next = reversed.next;
+            reversed.next = null;
+
+            if (reversed instanceof Stage<?, ?> stage && stage.isImmediateSync()) {
+                if (sync == null) {
+                    sync = ThreadContext.forCurrentThread() == ThreadContext.SYNC;
+                }
+                if (!sync) {
+                    // collect the sync stages, so they reach the main thread in one hop
+                    if (batch == null) {
+                        batch = new SyncBatch();
+                    }
+                    batch.add(stage, result);
+                    reversed = next;
+                    continue;
+                }
+            }
+
+            reversed.fire(result);
+            reversed = next;
+        }
+
+        if (batch != null && !batch.isEmpty()) {
+            NexusExecutors.sync().execute(batch);
+        }
+    }
+
+    private void addCompletion(Completion completion) {
+        while (true) {
+            Completion head = pruneDeadSignallers();
+            if (head == DONE) {
+                completion.fire(this.result);
+                return;
+            }
+            completion.next = head;
+            if (STACK.compareAndSet(this, head, completion)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks the promise as being supplied.
+     *
+     * @return false if the promise has been cancelled or has timed out, and the supplier shouldn't run
+     */
+    private boolean markAsSupplied() {
+        while (true) {
+            Object current = this.result;
+            if (current == null) {
+                if (RESULT.compareAndSet(this, null, SUPPLYING)) {
+                    return true;
+                }
+            } else if (isCancelled(current) || isTimedOut(current)) {
+                return false;
+            } else {
+                throw new IllegalStateException("Promise is already being supplied.");
+            }
+        }
     }
 
-    private void markAsSupplied() {
-        if (!this.supplied.compareAndSet(false, true)) {
-            throw new IllegalStateException("Promise is already being supplied.");
+    private Object waitForResult(boolean interruptible, long timeoutNanos)
+        throws InterruptedException, TimeoutException {
+        Object result = this.result;
+        if (isDone(result)) {
+            return result;
+        }
+
+        if (isDone(result = helpDrainSync())) {
+            return result;
         }
+
+        boolean timed = timeoutNanos >= 0;
+        long deadline = timed ? System.nanoTime() + timeoutNanos : 0L;
+        boolean interrupted = false;
+
+        Signaller signaller = new Signaller(Thread.currentThread());
+        addCompletion(signaller);
+        try {
+            while (!isDone(result = this.result)) {
+                if (timed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException();
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    if (interruptible) {
+                        throw new InterruptedException();
+                    }
+                    interrupted = true;
+                }
+            }
+        } finally {
+            // if we gave up waiting, make sure the signaller doesn't keep the thread reachable
+            signaller.thread = null;
+            if (!isDone(this.result)) {
+                pruneDeadSignallers();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the sync stages queued behind the one currently running, until this promise completes.
+     *
+     * <p>A sync stage which waits on a promise would otherwise park the main thread with the stages that
+     * complete it still queued on the trampoline.</p>
+     *
+     * @return the current result
+     */
+    private Object helpDrainSync() {
+        if (ThreadContext.forCurrentThread() != ThreadContext.SYNC || !syncDraining) {
+            return this.result;
+        }
+        Object result;
+        Runnable next;
+        while (!isDone(result = this.result) && (next = SYNC_TRAMPOLINE.poll()) != null) {
+            runSync(next);
+        }
+        return result;
+    }
+
+    /**
+     * Pops signallers whose waiters have given up from the top of the stack.
+     *
+     * <p>Only the head is ever replaced, with a CAS, so this can't race with a completion walking the stack.
+     * Signallers buried beneath a live completion stay until the promise completes, but as each new completion
+     * prunes before it is pushed, a waiter polling with a timeout doesn't grow the stack.</p>
+     *
+     * @return the new head of the stack
+     */
+    private Completion pruneDeadSignallers() {
+        while (true) {
+            Completion head = this.stack;
+            if (!(head instanceof Signaller signaller) || signaller.thread != null) {
+                return head;
+            }
+            STACK.compareAndSet(this, head, head.next);
+        }
+    }
+
+    private static boolean isCancelled(Object result) {
+        return result instanceof Failure failure && failure.cause instanceof CancellationException;
+    }
+
+    private static boolean isTimedOut(Object result) {
+        return result instanceof Failure failure && failure.cause instanceof TimeoutException;
+    }
+
+    private static <T> T reportGet(Object result) throws ExecutionException {
+        if (result instanceof Failure failure) {
+            Throwable t = failure.cause;
+            if (t instanceof CancellationException e) {
+                throw e;
+            }
+            if (t instanceof CompletionException && t.getCause() != null) {
+                t = t.getCause();
+            }
+            throw new ExecutionException(t);
+        }
+        return decode(result);
+    }
+
+    private static <T> T reportJoin(Object result) {
+        if (result instanceof Failure failure) {
+            Throwable t = failure.cause;
+            if (t instanceof CancellationException e) {
+                throw e;
+            }
+            if (t instanceof CompletionException e) {
+                throw e;
+            }
+            throw new CompletionException(t);
+        }
+        return decode(result);
     }
 
     /* future methods */
 
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
-        this.cancelled.set(true);
-        return this.fut.cancel(mayInterruptIfRunning);
+        return completeWith(new Failure(new CancellationException())) || isCancelled();
     }
 
     @Override
     public boolean isCancelled() {
-        return this.fut.isCancelled();
+        return isCancelled(this.result);
     }
 
     @Override
     public boolean isDone() {
-        return this.fut.isDone();
+        return isDone(this.result);
     }
 
     @Override
     public V get() throws InterruptedException, ExecutionException {
-        return this.fut.get();
+        try {
+            return reportGet(waitForResult(true, -1L));
+        } catch (TimeoutException e) {
+            throw new AssertionError(e);
+        }
     }
 
     @Override
     public V get(long timeout, @NotNull TimeUnit unit)
         throws InterruptedException, ExecutionException, TimeoutException {
-        return this.fut.get(timeout, unit);
+        return reportGet(waitForResult(true, Math.max(unit.toNanos(timeout), 0L)));
     }
 
     @Override
     public V join() {
-        return this.fut.join();
+        try {
+            return reportJoin(waitForResult(false, -1L));
+        } catch (InterruptedException | TimeoutException e) {
+            throw new AssertionError(e);
+        }
     }
 
     @Override
     public V getNow(V valueIfAbsent) {
-        return this.fut.getNow(valueIfAbsent);
+        Object result = this.result;
+        return isDone(result) ? reportJoin(result) : valueIfAbsent;
     }
 
     @Override
     public CompletableFuture<V> toCompletableFuture() {
-        return this.fut.thenApply(Function.identity());
+        CompletableFuture<V> future = new CompletableFuture<>();
+        addCompletion(new FutureRelay<>(future));
+        return future;
+    }
+
+    @NotNull
+    @Override
+    public Promise<V> orTimeout(long timeout, @NotNull TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (deadline == 0) {
+            deadline = 1;
+        }
+        long current = this.deadline;
+        if (current == 0 || deadline - current < 0) {
+            this.deadline = deadline;
+        }
+        scheduleTimeout(deadline, null);
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public Promise<V> completeOnTimeout(@Nullable V value, long timeout, @NotNull TimeUnit unit) {
+        scheduleTimeout(System.nanoTime() + unit.toNanos(timeout), encode(value));
+        return this;
     }
 
     @Override
@@ -250,88 +665,117 @@ final class NexusPromise<V> implements Promise<V> {
     @NotNull
     @Override
     public Promise<V> supply(@Nullable V value) {
-        markAsSupplied();
-        complete(value);
+        if (markAsSupplied()) {
+            complete(value);
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyException(@NotNull Throwable exception) {
-        markAsSupplied();
-        completeExceptionally(exception);
+        if (markAsSupplied()) {
+            completeExceptionally(exception);
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplySync(@NotNull Supplier<V> supplier) {
-        markAsSupplied();
-        executeSync(new SupplyRunnable(supplier));
+        if (markAsSupplied()) {
+            executeSync(new SupplyRunnable(supplier));
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyAsync(@NotNull Supplier<V> supplier) {
-        markAsSupplied();
-        executeAsync(new SupplyRunnable(supplier));
+        if (markAsSupplied()) {
+            executeAsync(new SupplyRunnable(supplier));
+        }
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public Promise<V> supplyVirtual(@NotNull Supplier<V> supplier) {
+        if (markAsSupplied()) {
+            executeVirtual(new SupplyRunnable(supplier));
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyDelayedSync(@NotNull Supplier<V> supplier, long delayTicks) {
-        markAsSupplied();
-        executeDelayedSync(new SupplyRunnable(supplier), delayTicks);
+        if (markAsSupplied()) {
+            executeDelayedSync(new SupplyRunnable(supplier), delayTicks);
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyDelayedSync(@NotNull Supplier<V> supplier, long delay, @NotNull TimeUnit unit) {
-        markAsSupplied();
-        executeDelayedSync(new SupplyRunnable(supplier), delay, unit);
+        if (markAsSupplied()) {
+            executeDelayedSync(new SupplyRunnable(supplier), delay, unit);
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyDelayedAsync(@NotNull Supplier<V> supplier, long delayTicks) {
-        markAsSupplied();
-        executeDelayedAsync(new SupplyRunnable(supplier), delayTicks);
+        if (markAsSupplied()) {
+            executeDelayedAsync(new SupplyRunnable(supplier), delayTicks);
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyDelayedAsync(@NotNull Supplier<V> supplier, long delay, @NotNull TimeUnit unit) {
-        markAsSupplied();
-        executeDelayedAsync(new SupplyRunnable(supplier), delay, unit);
+        if (markAsSupplied()) {
+            executeDelayedAsync(new SupplyRunnable(supplier), delay, unit);
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyExceptionallySync(@NotNull Callable<V> callable) {
-        markAsSupplied();
-        executeSync(new ThrowingSupplyRunnable(callable));
+        if (markAsSupplied()) {
+            executeSync(new ThrowingSupplyRunnable(callable));
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyExceptionallyAsync(@NotNull Callable<V> callable) {
-        markAsSupplied();
-        executeAsync(new ThrowingSupplyRunnable(callable));
+        if (markAsSupplied()) {
+            executeAsync(new ThrowingSupplyRunnable(callable));
+        }
+        return this;
+    }
+
+    @NotNull
+    @Override
+    public Promise<V> supplyExceptionallyVirtual(@NotNull Callable<V> callable) {
+        if (markAsSupplied()) {
+            executeVirtual(new ThrowingSupplyRunnable(callable));
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyExceptionallyDelayedSync(@NotNull Callable<V> callable, long delayTicks) {
-        markAsSupplied();
-        executeDelayedSync(new ThrowingSupplyRunnable(callable), delayTicks);
+        if (markAsSupplied()) {
+            executeDelayedSync(new ThrowingSupplyRunnable(callable), delayTicks);
+        }
         return this;
     }
 
@@ -339,16 +783,18 @@ final class NexusPromise<V> implements Promise<V> {
     @Override
     public Promise<V> supplyExceptionallyDelayedSync(@NotNull Callable<V> callable, long delay,
                                                      @NotNull TimeUnit unit) {
-        markAsSupplied();
-        executeDelayedSync(new ThrowingSupplyRunnable(callable), delay, unit);
+        if (markAsSupplied()) {
+            executeDelayedSync(new ThrowingSupplyRunnable(callable), delay, unit);
+        }
         return this;
     }
 
     @NotNull
     @Override
     public Promise<V> supplyExceptionallyDelayedAsync(@NotNull Callable<V> callable, long delayTicks) {
-        markAsSupplied();
-        executeDelayedAsync(new ThrowingSupplyRunnable(callable), delayTicks);
+        if (markAsSupplied()) {
+            executeDelayedAsync(new ThrowingSupplyRunnable(callable), delayTicks);
+        }
         return this;
     }
 
@@ -356,425 +802,593 @@ final class NexusPromise<V> implements Promise<V> {
     @Override
     public Promise<V> supplyExceptionallyDelayedAsync(@NotNull Callable<V> callable, long delay,
                                                       @NotNull TimeUnit unit) {
-        markAsSupplied();
-        executeDelayedAsync(new ThrowingSupplyRunnable(callable), delay, unit);
+        if (markAsSupplied()) {
+            executeDelayedAsync(new ThrowingSupplyRunnable(callable), delay, unit);
+        }
         return this;
     }
 
+    private <U> Promise<U> applyStage(Function<? super V, ? extends U> fn, ThreadContext context, long delay,
+                                      @Nullable TimeUnit unit) {
+        NexusPromise<U> promise = new NexusPromise<>(this.trace);
+        inheritDeadline(promise);
+        addCompletion(new ApplyCompletion<>(promise, fn, context, delay, unit));
+        return promise;
+    }
+
+    private <U> Promise<U> composeStage(Function<? super V, ? extends Promise<U>> fn, ThreadContext context,
+                                        long delay, @Nullable TimeUnit unit) {
+        NexusPromise<U> promise = new NexusPromise<>(this.trace);
+        inheritDeadline(promise);
+        addCompletion(new ComposeCompletion<>(promise, fn, context, delay, unit));
+        return promise;
+    }
+
+    private Promise<V> exceptionallyStage(Function<Throwable, ? extends V> fn, ThreadContext context, long delay,
+                                          @Nullable TimeUnit unit) {
+        NexusPromise<V> promise = new NexusPromise<>(this.trace);
+        addCompletion(new ExceptionallyCompletion<>(promise, fn, context, delay, unit));
+        return promise;
+    }
+
     @NotNull
     @Override
     public <U> Promise<U> thenApplySync(@NotNull Function<? super V, ? extends U> fn) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeSync(new ApplyRunnable<>(promise, fn, value));
-            }
-        });
-        return promise;
+        return applyStage(fn, ThreadContext.SYNC, 0L, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenApplyAsync(@NotNull Function<? super V, ? extends U> fn) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeAsync(new ApplyRunnable<>(promise, fn, value));
-            }
-        });
-        return promise;
+        return applyStage(fn, ThreadContext.ASYNC, 0L, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenApplyDelayedSync(@NotNull Function<? super V, ? extends U> fn, long delayTicks) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedSync(new ApplyRunnable<>(promise, fn, value), delayTicks);
-            }
-        });
-        return promise;
+        return applyStage(fn, ThreadContext.SYNC, delayTicks, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenApplyDelayedSync(@NotNull Function<? super V, ? extends U> fn, long delay,
                                                @NotNull TimeUnit unit) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedSync(new ApplyRunnable<>(promise, fn, value), delay, unit);
-            }
-        });
-        return promise;
+        return applyStage(fn, ThreadContext.SYNC, delay, unit);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenApplyDelayedAsync(@NotNull Function<? super V, ? extends U> fn, long delayTicks) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedAsync(new ApplyRunnable<>(promise, fn, value), delayTicks);
-            }
-        });
-        return promise;
+        return applyStage(fn, ThreadContext.ASYNC, delayTicks, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenApplyDelayedAsync(@NotNull Function<? super V, ? extends U> fn, long delay,
                                                 @NotNull TimeUnit unit) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedAsync(new ApplyRunnable<>(promise, fn, value), delay, unit);
-            }
-        });
-        return promise;
+        return applyStage(fn, ThreadContext.ASYNC, delay, unit);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenComposeSync(@NotNull Function<? super V, ? extends Promise<U>> fn) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeSync(new ComposeRunnable<>(promise, fn, value, true));
-            }
-        });
-        return promise;
+        return composeStage(fn, ThreadContext.SYNC, 0L, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenComposeAsync(@NotNull Function<? super V, ? extends Promise<U>> fn) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeAsync(new ComposeRunnable<>(promise, fn, value, false));
-            }
-        });
-        return promise;
+        return composeStage(fn, ThreadContext.ASYNC, 0L, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenComposeDelayedSync(@NotNull Function<? super V, ? extends Promise<U>> fn,
                                                  long delayTicks) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedSync(new ComposeRunnable<>(promise, fn, value, true), delayTicks);
-            }
-        });
-        return promise;
+        return composeStage(fn, ThreadContext.SYNC, delayTicks, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenComposeDelayedSync(@NotNull Function<? super V, ? extends Promise<U>> fn, long delay,
                                                  @NotNull TimeUnit unit) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedSync(new ComposeRunnable<>(promise, fn, value, true), delay, unit);
-            }
-        });
-        return promise;
+        return composeStage(fn, ThreadContext.SYNC, delay, unit);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenComposeDelayedAsync(@NotNull Function<? super V, ? extends Promise<U>> fn,
                                                   long delayTicks) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedAsync(new ComposeRunnable<>(promise, fn, value, false), delayTicks);
-            }
-        });
-        return promise;
+        return composeStage(fn, ThreadContext.ASYNC, delayTicks, null);
     }
 
     @NotNull
     @Override
     public <U> Promise<U> thenComposeDelayedAsync(@NotNull Function<? super V, ? extends Promise<U>> fn, long delay,
                                                   @NotNull TimeUnit unit) {
-        NexusPromise<U> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t != null) {
-                promise.completeExceptionally(t);
-            } else {
-                executeDelayedAsync(new ComposeRunnable<>(promise, fn, value, false), delay, unit);
-            }
-        });
-        return promise;
+        return composeStage(fn, ThreadContext.ASYNC, delay, unit);
     }
 
     @NotNull
     @Override
     public Promise<V> exceptionallySync(@NotNull Function<Throwable, ? extends V> fn) {
-        NexusPromise<V> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t == null) {
-                promise.complete(value);
-            } else {
-                executeSync(new ExceptionallyRunnable<>(promise, fn, t));
-            }
-        });
-        return promise;
+        return exceptionallyStage(fn, ThreadContext.SYNC, 0L, null);
     }
 
     @NotNull
     @Override
     public Promise<V> exceptionallyAsync(@NotNull Function<Throwable, ? extends V> fn) {
-        NexusPromise<V> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t == null) {
-                promise.complete(value);
-            } else {
-                executeAsync(new ExceptionallyRunnable<>(promise, fn, t));
-            }
-        });
-        return promise;
+        return exceptionallyStage(fn, ThreadContext.ASYNC, 0L, null);
     }
 
     @NotNull
     @Override
     public Promise<V> exceptionallyDelayedSync(@NotNull Function<Throwable, ? extends V> fn, long delayTicks) {
-        NexusPromise<V> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t == null) {
-                promise.complete(value);
-            } else {
-                executeDelayedSync(new ExceptionallyRunnable<>(promise, fn, t), delayTicks);
-            }
-        });
-        return promise;
+        return exceptionallyStage(fn, ThreadContext.SYNC, delayTicks, null);
     }
 
     @NotNull
     @Override
     public Promise<V> exceptionallyDelayedSync(@NotNull Function<Throwable, ? extends V> fn, long delay,
                                                @NotNull TimeUnit unit) {
-        NexusPromise<V> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t == null) {
-                promise.complete(value);
-            } else {
-                executeDelayedSync(new ExceptionallyRunnable<>(promise, fn, t), delay, unit);
-            }
-        });
-        return promise;
+        return exceptionallyStage(fn, ThreadContext.SYNC, delay, unit);
     }
 
     @NotNull
     @Override
     public Promise<V> exceptionallyDelayedAsync(@NotNull Function<Throwable, ? extends V> fn, long delayTicks) {
-        NexusPromise<V> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t == null) {
-                promise.complete(value);
-            } else {
-                executeDelayedAsync(new ExceptionallyRunnable<>(promise, fn, t), delayTicks);
-            }
-        });
-        return promise;
+        return exceptionallyStage(fn, ThreadContext.ASYNC, delayTicks, null);
     }
 
     @NotNull
     @Override
     public Promise<V> exceptionallyDelayedAsync(@NotNull Function<Throwable, ? extends V> fn, long delay,
                                                 @NotNull TimeUnit unit) {
-        NexusPromise<V> promise = empty();
-        this.fut.whenComplete((value, t) -> {
-            if (t == null) {
-                promise.complete(value);
-            } else {
-                executeDelayedAsync(new ExceptionallyRunnable<>(promise, fn, t), delay, unit);
-            }
-        });
-        return promise;
+        return exceptionallyStage(fn, ThreadContext.ASYNC, delay, unit);
     }
 
-    /* delegating behaviour runnables */
+    /* results */
 
-    private final class ThrowingSupplyRunnable implements Runnable, Delegate<Callable<V>> {
+    /**
+     * The result of a promise which completed exceptionally
+     */
+    private record Failure(Throwable cause) {
 
-        private final Callable<V> supplier;
+    }
 
-        private ThrowingSupplyRunnable(Callable<V> supplier) {
-            this.supplier = supplier;
+    /* completions */
+
+    /**
+     * A node in the stack of completions waiting on a promise
+     */
+    private abstract static class Completion {
+
+        Completion next;
+
+        /**
+         * Called once the promise has completed, on the completing thread.
+         *
+         * @param result the result of the promise
+         */
+        abstract void fire(Object result);
+    }
+
+    /**
+     * Unparks a thread blocked waiting for the result
+     */
+    private static final class Signaller extends Completion {
+
+        // cleared once the waiter stops waiting
+        private volatile Thread thread;
+
+        private Signaller(Thread thread) {
+            this.thread = thread;
         }
 
-        public Callable<V> delegate() {
-            return this.supplier;
+        @Override
+        void fire(Object result) {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    /**
+     * Copies the result into a {@link CompletableFuture}
+     */
+    private static final class FutureRelay<T> extends Completion {
+
+        private final CompletableFuture<T> future;
+
+        private FutureRelay(CompletableFuture<T> future) {
+            this.future = future;
         }
 
         @Override
-        public void run() {
-            if (NexusPromise.this.cancelled.get()) {
-                return;
+        void fire(Object result) {
+            if (result instanceof Failure failure) {
+                this.future.completeExceptionally(failure.cause);
+            } else {
+                this.future.complete(decode(result));
             }
+        }
+    }
+
+    /**
+     * Passes the result to a callback
+     */
+    private static final class CallbackCompletion<T> extends Completion {
+
+        private final BiConsumer<? super T, ? super Throwable> action;
+
+        private CallbackCompletion(BiConsumer<? super T, ? super Throwable> action) {
+            this.action = action;
+        }
+
+        @Override
+        void fire(Object result) {
             try {
-                NexusPromise.this.fut.complete(this.supplier.call());
+                if (result instanceof Failure failure) {
+                    this.action.accept(null, failure.cause);
+                } else {
+                    this.action.accept(decode(result), null);
+                }
             } catch (Throwable t) {
                 NexusExceptions.reportPromise(t);
-                NexusPromise.this.fut.completeExceptionally(t);
             }
         }
     }
 
-    private final class SupplyRunnable implements Runnable, Delegate<Supplier<V>> {
+    /**
+     * Completes a promise with a fallback result once its timeout elapses, and is cancelled when the promise
+     * completes first
+     */
+    private static final class TimeoutTimer extends Completion implements Runnable {
 
-        private final Supplier<V> supplier;
+        private final    NexusPromise<?>    promise;
+        @Nullable
+        private final    Object             result;
+        private volatile ScheduledFuture<?> future;
 
-        private SupplyRunnable(Supplier<V> supplier) {
-            this.supplier = supplier;
+        private TimeoutTimer(NexusPromise<?> promise, @Nullable Object result) {
+            this.promise = promise;
+            this.result = result;
         }
 
-        public Supplier<V> delegate() {
-            return this.supplier;
+        @Override
+        public void run() {
+            this.promise.completeWith(this.result == null ? timedOut() : this.result);
         }
 
         @Override
-        public void run() {
-            if (NexusPromise.this.cancelled.get()) {
-                return;
-            }
-            try {
-                NexusPromise.this.fut.complete(this.supplier.get());
-            } catch (Throwable t) {
-                NexusExceptions.reportPromise(t);
-                NexusPromise.this.fut.completeExceptionally(t);
+        void fire(Object result) {
+            this.future.cancel(false);
+        }
+    }
+
+    /**
+     * Cancels a promise if the one being waited on times out
+     */
+    private static final class CancelOnTimeout extends Completion {
+
+        private final NexusPromise<?> promise;
+
+        private CancelOnTimeout(NexusPromise<?> promise) {
+            this.promise = promise;
+        }
+
+        @Override
+        void fire(Object result) {
+            if (result instanceof Failure failure && failure.cause instanceof TimeoutException) {
+                this.promise.cancel();
             }
         }
     }
 
-    private final class ApplyRunnable<U> implements Runnable, Delegate<Function<? super V, ? extends U>> {
+    /**
+     * Copies the result into another promise
+     */
+    private static final class PromiseRelay extends Completion {
+
+        private final NexusPromise<?> promise;
+
+        private PromiseRelay(NexusPromise<?> promise) {
+            this.promise = promise;
+        }
+
+        @Override
+        void fire(Object result) {
+            this.promise.completeWith(result);
+        }
+    }
+
+    /**
+     * A dependent stage, which is scheduled in the given context once the promise completes.
+     *
+     * <p>The node itself is the runnable passed to the scheduler.</p>
+     */
+    private abstract static class Stage<U, F> extends Completion implements Runnable, Delegate<F>, Terminable {
+
+        protected final NexusPromise<U> promise;
+        protected final F               function;
+        private final   ThreadContext   context;
+        private final   long            delay;
+        @Nullable
+        private final   TimeUnit        unit;
 
-        private final NexusPromise<U>                  promise;
-        private final Function<? super V, ? extends U> function;
-        private final V                                value;
+        // the input to the function, written before the stage is scheduled
+        protected Object input;
 
-        private ApplyRunnable(NexusPromise<U> promise, Function<? super V, ? extends U> function, V value) {
+        protected Stage(NexusPromise<U> promise, F function, ThreadContext context, long delay,
+                        @Nullable TimeUnit unit) {
             this.promise = promise;
             this.function = function;
-            this.value = value;
+            this.context = context;
+            this.delay = delay;
+            this.unit = unit;
         }
 
-        public Function<? super V, ? extends U> delegate() {
+        @Override
+        public F delegate() {
             return this.function;
         }
 
+        // called if the scheduler drops the stage without running it
+        @Override
+        public void close() {
+            this.promise.cancel();
+        }
+
+        boolean isImmediateSync() {
+            return this.context == ThreadContext.SYNC && this.delay <= 0;
+        }
+
+        @Override
+        void fire(Object result) {
+            Object input = accept(result);
+            if (input != SKIP) {
+                this.input = input;
+                armDeadline();
+                if (isImmediateSync() && ThreadContext.forCurrentThread() == ThreadContext.SYNC) {
+                    runStageInline(this);
+                } else {
+                    execute(this, this.context, this.delay, this.unit);
+                }
+            }
+        }
+
+        // the deadline only needs a timer once the stage is waiting on something other than its parent
+        void armDeadline() {
+            long deadline = this.promise.deadline;
+            if (deadline != 0) {
+                this.promise.scheduleTimeout(deadline, null);
+            }
+        }
+
+        /**
+         * Accepts the result of the promise the stage depends on.
+         *
+         * @param result the result
+         * @return the input to pass to the function, or {@link #SKIP} if the stage has already been handled
+         */
+        abstract Object accept(Object result);
+
         @Override
         public void run() {
-            if (NexusPromise.this.cancelled.get()) {
+            if (this.promise.isDone()) {
+                // cancelled while waiting to run
                 return;
             }
             try {
-                this.promise.complete(this.function.apply(this.value));
+                apply(this.input);
             } catch (Throwable t) {
-                NexusExceptions.reportPromise(t);
+                this.promise.reportFailure(t);
                 this.promise.completeExceptionally(t);
             }
         }
+
+        protected abstract void apply(Object input);
     }
 
-    private final class ComposeRunnable<U> implements Runnable, Delegate<Function<? super V, ? extends Promise<U>>> {
+    private static final class ApplyCompletion<V, U> extends Stage<U, Function<? super V, ? extends U>> {
 
-        private final NexusPromise<U>                           promise;
-        private final Function<? super V, ? extends Promise<U>> function;
-        private final V                                         value;
-        private final boolean                                   sync;
+        private ApplyCompletion(NexusPromise<U> promise, Function<? super V, ? extends U> function,
+                                ThreadContext context, long delay, @Nullable TimeUnit unit) {
+            super(promise, function, context, delay, unit);
+        }
 
-        private ComposeRunnable(NexusPromise<U> promise, Function<? super V, ? extends Promise<U>> function, V value,
-                                boolean sync) {
-            this.promise = promise;
-            this.function = function;
-            this.value = value;
-            this.sync = sync;
+        @Override
+        Object accept(Object result) {
+            if (result instanceof Failure failure) {
+                this.promise.completeWith(failure);
+                return SKIP;
+            }
+            return result;
         }
 
-        public Function<? super V, ? extends Promise<U>> delegate() {
-            return this.function;
+        @Override
+        protected void apply(Object input) {
+            V value = decode(input);
+            this.promise.complete(this.function.apply(value));
+        }
+    }
+
+    private static final class ComposeCompletion<V, U> extends Stage<U, Function<? super V, ? extends Promise<U>>> {
+
+        private ComposeCompletion(NexusPromise<U> promise, Function<? super V, ? extends Promise<U>> function,
+                                  ThreadContext context, long delay, @Nullable TimeUnit unit) {
+            super(promise, function, context, delay, unit);
+        }
+
+        @Override
+        Object accept(Object result) {
+            if (result instanceof Failure failure) {
+                this.promise.completeWith(failure);
+                return SKIP;
+            }
+            return result;
+        }
+
+        @Override
+        protected void apply(Object input) {
+            V value = decode(input);
+            Promise<U> p = this.function.apply(value);
+            if (p == null) {
+                this.promise.complete(null);
+            } else if (p instanceof NexusPromise<U> nexusPromise) {
+                nexusPromise.addCompletion(new PromiseRelay(this.promise));
+                if (this.promise.deadline != 0) {
+                    // stop waiting on the inner promise if the deadline passes
+                    this.promise.addCompletion(new CancelOnTimeout(nexusPromise));
+                }
+            } else {
+                p.toCompletableFuture().whenComplete((v, t) -> {
+                    if (t != null) {
+                        this.promise.completeExceptionally(t);
+                    } else {
+                        this.promise.complete(v);
+                    }
+                });
+            }
+        }
+    }
+
+    private static final class ExceptionallyCompletion<V> extends Stage<V, Function<Throwable, ? extends V>> {
+
+        private ExceptionallyCompletion(NexusPromise<V> promise, Function<Throwable, ? extends V> function,
+                                        ThreadContext context, long delay, @Nullable TimeUnit unit) {
+            super(promise, function, context, delay, unit);
+        }
+
+        @Override
+        Object accept(Object result) {
+            if (result instanceof Failure failure) {
+                return failure.cause;
+            }
+            this.promise.completeWith(result);
+            return SKIP;
+        }
+
+        @Override
+        protected void apply(Object input) {
+            this.promise.complete(this.function.apply((Throwable) input));
+        }
+    }
+
+    /**
+     * A group of sync stages released by the same completion, run together on the main thread
+     */
+    private static final class SyncBatch implements Runnable, Terminable {
+
+        private Completion head;
+        private Completion tail;
+
+        void add(Stage<?, ?> stage, Object result) {
+            Object input = stage.accept(result);
+            if (input == SKIP) {
+                return;
+            }
+            stage.input = input;
+            stage.armDeadline();
+
+            // the stage is no longer in a stack, so its link can be reused
+            if (this.tail == null) {
+                this.head = stage;
+            } else {
+                this.tail.next = stage;
+            }
+            this.tail = stage;
+        }
+
+        boolean isEmpty() {
+            return this.head == null;
+        }
+
+        @Override
+        public void run() {
+            Completion stage = this.head;
+            this.head = this.tail = null;
+            while (stage != null) {
+                Completion next = stage.next;
+                stage.next = null;
+                runStageInline((Stage<?, ?>) stage);
+                stage = next;
+            }
+        }
+
+        // called if the scheduler drops the batch without running it
+        @Override
+        public void close() {
+            Completion stage = this.head;
+            this.head = this.tail = null;
+            while (stage != null) {
+                Completion next = stage.next;
+                stage.next = null;
+                ((Stage<?, ?>) stage).close();
+                stage = next;
+            }
+        }
+    }
+
+    /* delegating behaviour runnables */
+
+    private final class ThrowingSupplyRunnable implements Runnable, Delegate<Callable<V>>, Terminable {
+
+        private final Callable<V> supplier;
+
+        private ThrowingSupplyRunnable(Callable<V> supplier) {
+            this.supplier = supplier;
+        }
+
+        public Callable<V> delegate() {
+            return this.supplier;
+        }
+
+        @Override
+        public void close() {
+            NexusPromise.this.cancel();
         }
 
         @Override
         public void run() {
-            if (NexusPromise.this.cancelled.get()) {
+            if (NexusPromise.this.isCancelled()) {
                 return;
             }
             try {
-                Promise<U> p = this.function.apply(this.value);
-                if (p == null) {
-                    this.promise.complete(null);
-                } else {
-                    if (this.sync) {
-                        p.thenAcceptSync(this.promise::complete);
-                    } else {
-                        p.thenAcceptAsync(this.promise::complete);
-                    }
-                }
+                NexusPromise.this.complete(this.supplier.call());
             } catch (Throwable t) {
-                NexusExceptions.reportPromise(t);
-                this.promise.completeExceptionally(t);
+                NexusPromise.this.reportFailure(t);
+                NexusPromise.this.completeExceptionally(t);
             }
         }
     }
 
-    private final class ExceptionallyRunnable<U> implements Runnable, Delegate<Function<Throwable, ? extends U>> {
+    private final class SupplyRunnable implements Runnable, Delegate<Supplier<V>>, Terminable {
 
-        private final NexusPromise<U>                  promise;
-        private final Function<Throwable, ? extends U> function;
-        private final Throwable                        t;
+        private final Supplier<V> supplier;
 
-        private ExceptionallyRunnable(NexusPromise<U> promise, Function<Throwable, ? extends U> function, Throwable t) {
-            this.promise = promise;
-            this.function = function;
-            this.t = t;
+        private SupplyRunnable(Supplier<V> supplier) {
+            this.supplier = supplier;
         }
 
-        public Function<Throwable, ? extends U> delegate() {
-            return this.function;
+        public Supplier<V> delegate() {
+            return this.supplier;
+        }
+
+        @Override
+        public void close() {
+            NexusPromise.this.cancel();
         }
 
         @Override
         public void run() {
-            if (NexusPromise.this.cancelled.get()) {
+            if (NexusPromise.this.isCancelled()) {
                 return;
             }
             try {
-                this.promise.complete(this.function.apply(this.t));
+                NexusPromise.this.complete(this.supplier.get());
             } catch (Throwable t) {
-                NexusExceptions.reportPromise(t);
-                this.promise.completeExceptionally(t);
+                NexusPromise.this.reportFailure(t);
+                NexusPromise.this.completeExceptionally(t);
             }
         }
     }
-
-}
\ No newline at end of file
+}
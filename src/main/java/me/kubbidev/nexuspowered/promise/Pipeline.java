@@ -0,0 +1,172 @@
+package me.kubbidev.nexuspowered.promise;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A bounded, demand-driven pipeline for processing a stream of elements.
+ *
+ * <p>Unlike creating a {@link Promise} per element, a pipeline never holds more than a bounded number of
+ * elements in each stage: stages request more elements from the stage before them as they process them, so a
+ * slow stage slows the source down rather than letting work pile up in the executors.</p>
+ *
+ * <p>Pipelines are built on {@link Flow}, and are lazy: nothing is requested from the source until a terminal
+ * operation, such as {@link #forEach(ThreadContext, Consumer)}, is called.</p>
+ *
+ * <p>Stages with a parallelism of 1 preserve the order of elements. Functions which return null drop the
+ * element.</p>
+ *
+ * @param <T> the element type
+ */
+public interface Pipeline<T> {
+
+    /**
+     * The default number of elements buffered by each stage
+     */
+    int DEFAULT_BUFFER_SIZE = 256;
+
+    /**
+     * The default time a stage running in the {@link ThreadContext#SYNC sync} context may spend processing
+     * elements each tick
+     */
+    long DEFAULT_TICK_BUDGET_NANOS = 2_000_000L;
+
+    /**
+     * Creates a pipeline over the elements of the given iterable.
+     *
+     * <p>The iterable is read on the async executor, as elements are requested.</p>
+     *
+     * @param source the source
+     * @param <T>    the element type
+     * @return a new pipeline
+     */
+    @NotNull
+    static <T> Pipeline<T> from(@NotNull Iterable<? extends T> source) {
+        return from(source, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a pipeline over the elements of the given iterable.
+     *
+     * @param source     the source
+     * @param bufferSize the number of elements buffered by each stage
+     * @param <T>        the element type
+     * @return a new pipeline
+     */
+    @NotNull
+    static <T> Pipeline<T> from(@NotNull Iterable<? extends T> source, int bufferSize) {
+        return PipelineImpl.from(source, bufferSize);
+    }
+
+    /**
+     * Creates a pipeline over the elements published by the given publisher.
+     *
+     * @param source     the source
+     * @param bufferSize the number of elements buffered by each stage
+     * @param <T>        the element type
+     * @return a new pipeline
+     */
+    @NotNull
+    static <T> Pipeline<T> from(@NotNull Flow.Publisher<? extends T> source, int bufferSize) {
+        return PipelineImpl.from(source, bufferSize);
+    }
+
+    /**
+     * Adds a stage which applies the function to each element in the given context.
+     *
+     * @param context  the type of executor to apply the function with
+     * @param function the function
+     * @param <R>      the result type
+     * @return a new pipeline
+     */
+    @NotNull
+    default <R> Pipeline<R> map(@NotNull ThreadContext context, @NotNull Function<? super T, ? extends R> function) {
+        return map(context, 1, function);
+    }
+
+    /**
+     * Adds a stage which applies the function to each element in the given context, with up to
+     * {@code parallelism} elements processed at once.
+     *
+     * <p>Sync stages always process elements one at a time.</p>
+     *
+     * @param context     the type of executor to apply the function with
+     * @param parallelism the maximum number of elements processed at once
+     * @param function    the function
+     * @param <R>         the result type
+     * @return a new pipeline
+     */
+    @NotNull
+    <R> Pipeline<R> map(@NotNull ThreadContext context, int parallelism,
+                        @NotNull Function<? super T, ? extends R> function);
+
+    /**
+     * Groups elements into lists of the given size. The last list may be smaller.
+     *
+     * @param size the size of each list
+     * @return a new pipeline
+     */
+    @NotNull
+    Pipeline<List<T>> buffer(int size);
+
+    /**
+     * Groups the elements which arrive within each window of the given number of ticks into a list.
+     *
+     * <p>Windows hold at most the pipeline's buffer size. Once a window is full, the source is paused until the
+     * window is emitted.</p>
+     *
+     * @param ticks the length of each window in ticks
+     * @return a new pipeline
+     */
+    @NotNull
+    Pipeline<List<T>> window(long ticks);
+
+    /**
+     * Gets a publisher of the elements at the end of this pipeline.
+     *
+     * @return a publisher
+     */
+    @NotNull
+    Flow.Publisher<T> toPublisher();
+
+    /**
+     * Processes each element in the given context, starting the pipeline.
+     *
+     * @param context  the type of executor to process elements with
+     * @param consumer the consumer
+     * @return a promise which completes once every element has been processed, and can be cancelled to stop the
+     * pipeline
+     */
+    @NotNull
+    default Promise<Void> forEach(@NotNull ThreadContext context, @NotNull Consumer<? super T> consumer) {
+        return forEach(context, 1, consumer);
+    }
+
+    /**
+     * Processes each element in the given context, with up to {@code parallelism} elements processed at once,
+     * starting the pipeline.
+     *
+     * @param context     the type of executor to process elements with
+     * @param parallelism the maximum number of elements processed at once
+     * @param consumer    the consumer
+     * @return a promise which completes once every element has been processed, and can be cancelled to stop the
+     * pipeline
+     */
+    @NotNull
+    Promise<Void> forEach(@NotNull ThreadContext context, int parallelism, @NotNull Consumer<? super T> consumer);
+
+    /**
+     * Processes each element on the main thread, spending at most the given time each tick, starting the
+     * pipeline.
+     *
+     * @param consumer        the consumer
+     * @param tickBudgetNanos the time which may be spent each tick
+     * @return a promise which completes once every element has been processed, and can be cancelled to stop the
+     * pipeline
+     */
+    @NotNull
+    Promise<Void> forEachSync(@NotNull Consumer<? super T> consumer, long tickBudgetNanos);
+}
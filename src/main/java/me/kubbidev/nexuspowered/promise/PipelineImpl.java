@@ -0,0 +1,722 @@
+package me.kubbidev.nexuspowered.promise;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.scheduler.NexusExecutors;
+import me.kubbidev.nexuspowered.scheduler.OverrunPolicy;
+import me.kubbidev.nexuspowered.scheduler.Ticks;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class PipelineImpl<T> implements Pipeline<T> {
+
+    private final Flow.Publisher<T> publisher;
+    private final int               bufferSize;
+
+    private PipelineImpl(Flow.Publisher<T> publisher, int bufferSize) {
+        this.publisher = publisher;
+        this.bufferSize = bufferSize;
+    }
+
+    private static int checkBufferSize(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        return bufferSize;
+    }
+
+    private static int checkParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        return parallelism;
+    }
+
+    @NotNull
+    static <T> Pipeline<T> from(@NotNull Iterable<? extends T> source, int bufferSize) {
+        Objects.requireNonNull(source, "source");
+        return new PipelineImpl<>(new IterableSource<>(source), checkBufferSize(bufferSize));
+    }
+
+    @NotNull
+    static <T> Pipeline<T> from(@NotNull Flow.Publisher<? extends T> source, int bufferSize) {
+        Objects.requireNonNull(source, "source");
+        @SuppressWarnings("unchecked")
+        Flow.Publisher<T> publisher = (Flow.Publisher<T>) source;
+        return new PipelineImpl<>(publisher, checkBufferSize(bufferSize));
+    }
+
+    // adds two demands, capping at Long.MAX_VALUE
+    private static long addCap(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static void addDemand(AtomicLong demand, long n) {
+        long current;
+        do {
+            current = demand.get();
+            if (current == Long.MAX_VALUE) {
+                return;
+            }
+        } while (!demand.compareAndSet(current, addCap(current, n)));
+    }
+
+    @NotNull
+    @Override
+    public <R> Pipeline<R> map(@NotNull ThreadContext context, int parallelism,
+                               @NotNull Function<? super T, ? extends R> function) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(function, "function");
+        return new PipelineImpl<>(new ProcessingStage<>(this.publisher, context, checkParallelism(parallelism),
+            this.bufferSize, DEFAULT_TICK_BUDGET_NANOS, function), this.bufferSize);
+    }
+
+    @NotNull
+    @Override
+    public Pipeline<List<T>> buffer(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        return new PipelineImpl<>(new BufferStage<>(this.publisher, size), this.bufferSize);
+    }
+
+    @NotNull
+    @Override
+    public Pipeline<List<T>> window(long ticks) {
+        if (ticks <= 0) {
+            throw new IllegalArgumentException("ticks must be positive: " + ticks);
+        }
+        return new PipelineImpl<>(new WindowStage<>(this.publisher, ticks, this.bufferSize), this.bufferSize);
+    }
+
+    @NotNull
+    @Override
+    public Flow.Publisher<T> toPublisher() {
+        return this.publisher;
+    }
+
+    @NotNull
+    @Override
+    public Promise<Void> forEach(@NotNull ThreadContext context, int parallelism,
+                                 @NotNull Consumer<? super T> consumer) {
+        return forEach(context, checkParallelism(parallelism), consumer, DEFAULT_TICK_BUDGET_NANOS);
+    }
+
+    @NotNull
+    @Override
+    public Promise<Void> forEachSync(@NotNull Consumer<? super T> consumer, long tickBudgetNanos) {
+        if (tickBudgetNanos <= 0) {
+            throw new IllegalArgumentException("tickBudgetNanos must be positive: " + tickBudgetNanos);
+        }
+        return forEach(ThreadContext.SYNC, 1, consumer, tickBudgetNanos);
+    }
+
+    private Promise<Void> forEach(ThreadContext context, int parallelism, Consumer<? super T> consumer,
+                                  long tickBudgetNanos) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(consumer, "consumer");
+        ProcessingStage<T, Object> stage = new ProcessingStage<>(this.publisher, context, parallelism,
+            this.bufferSize, tickBudgetNanos, element -> {
+            consumer.accept(element);
+            return null;
+        });
+        CompletionSubscriber subscriber = new CompletionSubscriber();
+        stage.subscribe(subscriber);
+        return subscriber.promise;
+    }
+
+    /**
+     * Publishes the elements of an iterable, reading it on the async executor.
+     */
+    private static final class IterableSource<T> implements Flow.Publisher<T> {
+
+        private final Iterable<? extends T> iterable;
+
+        private IterableSource(Iterable<? extends T> iterable) {
+            this.iterable = iterable;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super T> subscriber) {
+            Objects.requireNonNull(subscriber, "subscriber");
+            subscriber.onSubscribe(new IterableSubscription<>(this.iterable, subscriber));
+        }
+    }
+
+    private static final class IterableSubscription<T> implements Flow.Subscription, Runnable {
+
+        private final Iterable<? extends T>      iterable;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong                 demand = new AtomicLong(0);
+        // the number of drain requests - the drain runs while this is non-zero
+        private final AtomicInteger              wip    = new AtomicInteger(0);
+
+        // only accessed by the drain
+        private Iterator<? extends T> iterator;
+
+        private volatile boolean cancelled = false;
+
+        private IterableSubscription(Iterable<? extends T> iterable, Flow.Subscriber<? super T> subscriber) {
+            this.iterable = iterable;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                this.subscriber.onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            addDemand(this.demand, n);
+            if (this.wip.getAndIncrement() == 0) {
+                NexusExecutors.asyncNexus().execute(this);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            try {
+                if (this.iterator == null) {
+                    this.iterator = this.iterable.iterator();
+                }
+                do {
+                    long requested = this.demand.get();
+                    long emitted = 0;
+                    while (emitted != requested) {
+                        if (this.cancelled) {
+                            return;
+                        }
+                        if (!this.iterator.hasNext()) {
+                            this.cancelled = true;
+                            this.subscriber.onComplete();
+                            return;
+                        }
+                        this.subscriber.onNext(Objects.requireNonNull(this.iterator.next(), "element"));
+                        emitted++;
+                    }
+                    if (!this.cancelled && !this.iterator.hasNext()) {
+                        this.cancelled = true;
+                        this.subscriber.onComplete();
+                        return;
+                    }
+                    if (requested != Long.MAX_VALUE) {
+                        this.demand.addAndGet(-emitted);
+                    }
+                    missed = this.wip.addAndGet(-missed);
+                } while (missed != 0);
+            } catch (Throwable t) {
+                if (!this.cancelled) {
+                    this.cancelled = true;
+                    this.subscriber.onError(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Base for a stage with a single downstream subscriber, which subscribes upstream once it is itself
+     * subscribed to.
+     */
+    private abstract static class Stage<I, O> implements Flow.Processor<I, O>, Flow.Subscription {
+
+        private final   Flow.Publisher<? extends I> source;
+        private final   AtomicBoolean               subscribed = new AtomicBoolean(false);
+        protected final AtomicLong                  demand     = new AtomicLong(0);
+
+        protected volatile Flow.Subscriber<? super O> downstream;
+        protected volatile Flow.Subscription          upstream;
+
+        protected Stage(Flow.Publisher<? extends I> source) {
+            this.source = source;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super O> subscriber) {
+            Objects.requireNonNull(subscriber, "subscriber");
+            if (!this.subscribed.compareAndSet(false, true)) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("Pipeline stages only support a single subscriber"));
+                return;
+            }
+            this.downstream = subscriber;
+            subscriber.onSubscribe(this);
+            this.source.subscribe(this);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            onUpstream(subscription);
+        }
+
+        protected abstract void onUpstream(Flow.Subscription subscription);
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                onError(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            addDemand(this.demand, n);
+            onRequest(n);
+        }
+
+        protected abstract void onRequest(long n);
+
+        protected void cancelUpstream() {
+            Flow.Subscription upstream = this.upstream;
+            if (upstream != null) {
+                upstream.cancel();
+            }
+        }
+    }
+
+    /**
+     * Applies a function to each element in a thread context, with bounded buffering and parallelism.
+     */
+    private static final class ProcessingStage<I, O> extends Stage<I, O> {
+
+        private final ThreadContext                    context;
+        private final int                              parallelism;
+        private final int                              bufferSize;
+        // the number of elements consumed between each request upstream
+        private final int                              replenish;
+        private final long                             tickBudgetNanos;
+        private final Function<? super I, ? extends O> function;
+        private final Runnable                         worker   = this::work;
+
+        // bounded by the demand requested upstream
+        private final Queue<I>      queue    = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger active   = new AtomicInteger(0);
+        private final AtomicInteger consumed = new AtomicInteger(0);
+        private final AtomicBoolean done     = new AtomicBoolean(false);
+
+        private volatile boolean upstreamComplete = false;
+
+        private ProcessingStage(Flow.Publisher<? extends I> source, ThreadContext context, int parallelism,
+                                int bufferSize, long tickBudgetNanos, Function<? super I, ? extends O> function) {
+            super(source);
+            this.context = context;
+            // the main thread can only process one element at a time anyway
+            this.parallelism = context == ThreadContext.SYNC ? 1 : parallelism;
+            this.bufferSize = bufferSize;
+            this.replenish = Math.max(1, bufferSize / 2);
+            this.tickBudgetNanos = tickBudgetNanos;
+            this.function = function;
+        }
+
+        @Override
+        protected void onUpstream(Flow.Subscription subscription) {
+            subscription.request(this.bufferSize);
+        }
+
+        @Override
+        protected void onRequest(long n) {
+            schedule();
+        }
+
+        @Override
+        public void onNext(I item) {
+            this.queue.offer(item);
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            terminate(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.upstreamComplete = true;
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.done.set(true);
+            cancelUpstream();
+            this.queue.clear();
+        }
+
+        private boolean hasWork() {
+            return !this.queue.isEmpty() && this.demand.get() > 0;
+        }
+
+        private void schedule() {
+            while (!this.done.get()) {
+                int active = this.active.get();
+                if (active >= this.parallelism) {
+                    return;
+                }
+                if (!hasWork()) {
+                    if (active == 0 && this.upstreamComplete && this.queue.isEmpty()) {
+                        terminate(null);
+                    }
+                    return;
+                }
+                if (this.active.compareAndSet(active, active + 1)) {
+                    dispatch(this.worker, false);
+                }
+            }
+        }
+
+        private void dispatch(Runnable runnable, boolean nextTick) {
+            switch (this.context) {
+                case SYNC -> {
+                    if (nextTick) {
+                        NexusExecutors.scheduleSync(runnable, 1L);
+                    } else {
+                        NexusExecutors.sync().execute(runnable);
+                    }
+                }
+                case ASYNC -> NexusExecutors.asyncNexus().execute(runnable);
+            }
+        }
+
+        private boolean reserveDemand() {
+            long current;
+            do {
+                current = this.demand.get();
+                if (current == 0) {
+                    return false;
+                }
+                if (current == Long.MAX_VALUE) {
+                    return true;
+                }
+            } while (!this.demand.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        private void releaseDemand() {
+            addDemand(this.demand, 1);
+        }
+
+        private void work() {
+            long deadline = System.nanoTime() + this.tickBudgetNanos;
+            boolean yielded = false;
+            try {
+                while (!this.done.get()) {
+                    if (this.context == ThreadContext.SYNC && System.nanoTime() - deadline >= 0) {
+                        // out of budget - carry on next tick
+                        yielded = true;
+                        dispatch(this.worker, true);
+                        return;
+                    }
+                    if (!reserveDemand()) {
+                        break;
+                    }
+                    I item = this.queue.poll();
+                    if (item == null) {
+                        releaseDemand();
+                        break;
+                    }
+                    if (this.consumed.incrementAndGet() % this.replenish == 0) {
+                        this.upstream.request(this.replenish);
+                    }
+
+                    O result;
+                    try {
+                        result = this.function.apply(item);
+                    } catch (Throwable t) {
+                        NexusExceptions.reportPromise(t);
+                        cancelUpstream();
+                        this.queue.clear();
+                        terminate(t);
+                        return;
+                    }
+
+                    if (result == null) {
+                        releaseDemand();
+                    } else {
+                        emit(result);
+                    }
+                }
+            } finally {
+                if (!yielded) {
+                    this.active.decrementAndGet();
+                }
+            }
+            schedule();
+        }
+
+        private void emit(O result) {
+            synchronized (this) {
+                if (!this.done.get()) {
+                    this.downstream.onNext(result);
+                }
+            }
+        }
+
+        private void terminate(@Nullable Throwable error) {
+            if (!this.done.compareAndSet(false, true)) {
+                return;
+            }
+            synchronized (this) {
+                if (error != null) {
+                    this.downstream.onError(error);
+                } else {
+                    this.downstream.onComplete();
+                }
+            }
+        }
+    }
+
+    /**
+     * Groups elements into lists of a fixed size.
+     */
+    private static final class BufferStage<T> extends Stage<T, List<T>> {
+
+        private final int size;
+
+        // only accessed by upstream signals, which are serial
+        private List<T> current;
+
+        // guarded by this - lists requested before the upstream subscription arrived
+        private long    pending = 0;
+        private boolean ready   = false;
+
+        private BufferStage(Flow.Publisher<? extends T> source, int size) {
+            super(source);
+            this.size = size;
+            this.current = new ArrayList<>(size);
+        }
+
+        private long elements(long lists) {
+            return lists >= Long.MAX_VALUE / this.size ? Long.MAX_VALUE : lists * this.size;
+        }
+
+        @Override
+        protected void onUpstream(Flow.Subscription subscription) {
+            synchronized (this) {
+                this.ready = true;
+                if (this.pending != 0) {
+                    subscription.request(elements(this.pending));
+                    this.pending = 0;
+                }
+            }
+        }
+
+        @Override
+        protected void onRequest(long n) {
+            synchronized (this) {
+                if (this.ready) {
+                    this.upstream.request(elements(n));
+                } else {
+                    this.pending = addCap(this.pending, n);
+                }
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            this.current.add(item);
+            if (this.current.size() == this.size) {
+                List<T> list = this.current;
+                this.current = new ArrayList<>(this.size);
+                this.downstream.onNext(list);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.current = null;
+            this.downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            List<T> list = this.current;
+            this.current = null;
+            if (list != null && !list.isEmpty()) {
+                // the upstream sent fewer elements than were requested for this list, so it is still in demand
+                this.downstream.onNext(list);
+            }
+            this.downstream.onComplete();
+        }
+
+        @Override
+        public void cancel() {
+            cancelUpstream();
+        }
+    }
+
+    /**
+     * Groups the elements which arrive within each window of time.
+     */
+    private static final class WindowStage<T> extends Stage<T, List<T>> {
+
+        private final long periodTicks;
+        private final int  maxSize;
+
+        // guarded by this
+        private List<T>            current;
+        private boolean            completed = false;
+        private boolean            finished  = false;
+        private ScheduledFuture<?> timer;
+
+        private WindowStage(Flow.Publisher<? extends T> source, long periodTicks, int maxSize) {
+            super(source);
+            this.periodTicks = periodTicks;
+            this.maxSize = maxSize;
+            this.current = new ArrayList<>();
+        }
+
+        @Override
+        protected void onUpstream(Flow.Subscription subscription) {
+            long periodMillis = Ticks.to(this.periodTicks, TimeUnit.MILLISECONDS);
+            synchronized (this) {
+                this.timer = NexusExecutors.scheduleAtFixedRate(this::closeWindow, periodMillis, periodMillis,
+                    TimeUnit.MILLISECONDS, OverrunPolicy.SKIP);
+            }
+            subscription.request(this.maxSize);
+        }
+
+        @Override
+        protected void onRequest(long n) {
+            synchronized (this) {
+                // the source finished while there was no demand for the last window
+                if (this.completed && !this.finished) {
+                    flush();
+                    finish(null);
+                }
+            }
+        }
+
+        private void closeWindow() {
+            synchronized (this) {
+                if (!this.finished && this.demand.get() > 0) {
+                    flush();
+                }
+            }
+        }
+
+        // guarded by this
+        private void flush() {
+            List<T> list = this.current;
+            if (list.isEmpty()) {
+                return;
+            }
+            this.current = new ArrayList<>();
+            if (this.demand.get() != Long.MAX_VALUE) {
+                this.demand.decrementAndGet();
+            }
+            this.downstream.onNext(list);
+            // refill the source by the number of elements emitted
+            this.upstream.request(list.size());
+        }
+
+        // guarded by this
+        private void finish(@Nullable Throwable error) {
+            this.finished = true;
+            if (this.timer != null) {
+                this.timer.cancel(false);
+            }
+            if (error != null) {
+                this.downstream.onError(error);
+            } else {
+                this.downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                this.current.add(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                if (!this.finished) {
+                    finish(throwable);
+                }
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                this.completed = true;
+                if (this.current.isEmpty() || this.demand.get() > 0) {
+                    flush();
+                    finish(null);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                this.finished = true;
+                if (this.timer != null) {
+                    this.timer.cancel(false);
+                }
+            }
+            cancelUpstream();
+        }
+    }
+
+    /**
+     * Requests every element, and completes a promise once the pipeline terminates.
+     */
+    private static final class CompletionSubscriber implements Flow.Subscriber<Object> {
+
+        private final Promise<Void> promise = Promise.empty();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            // cancelling the promise stops the pipeline
+            NexusPromise.whenComplete(this.promise, (value, t) -> {
+                if (this.promise.isCancelled()) {
+                    subscription.cancel();
+                }
+            });
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Object item) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.promise.supplyException(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            this.promise.supply(null);
+        }
+    }
+}
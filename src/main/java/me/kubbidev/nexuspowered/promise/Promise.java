@@ -1,11 +1,14 @@
 package me.kubbidev.nexuspowered.promise;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -94,6 +97,114 @@ public interface Promise<V> extends Future<V>, Terminable {
         return NexusPromise.wrapFuture(future);
     }
 
+    /**
+     * Returns a Promise which completes once all of the given promises have completed.
+     *
+     * <p>If any of the promises completes exceptionally, the returned promise completes with the same exception,
+     * and the rest are cancelled. Cancelling the returned promise cancels any promises still pending.</p>
+     *
+     * @param promises the promises
+     * @param <U>      the result type
+     * @return a promise of the results, in the iteration order of the collection
+     */
+    @NotNull
+    static <U> Promise<List<U>> all(@NotNull Collection<? extends Promise<? extends U>> promises) {
+        return PromiseCombinators.all(promises);
+    }
+
+    /**
+     * Returns a Promise which completes once all of the given promises have completed, collecting the results
+     * into the given array.
+     *
+     * <p>Behaves in the same way as {@link #all(Collection)}, but without allocating an intermediate list.</p>
+     *
+     * @param promises the promises
+     * @param results  the array to store the results in, by iteration order of the collection
+     * @param <U>      the result type
+     * @return a promise of the given array
+     * @throws IllegalArgumentException if the array is smaller than the collection
+     */
+    @NotNull
+    static <U> Promise<U[]> all(@NotNull Collection<? extends Promise<? extends U>> promises,
+                                @NotNull U[] results) {
+        return PromiseCombinators.all(promises, results);
+    }
+
+    /**
+     * Returns a Promise which completes with the result of the first of the given promises to complete
+     * successfully.
+     *
+     * <p>The remaining promises are cancelled. If all of the promises complete exceptionally, the returned
+     * promise completes with one of their exceptions.</p>
+     *
+     * @param promises the promises
+     * @param <U>      the result type
+     * @return a promise of the first successful result
+     * @throws IllegalArgumentException if the collection is empty
+     */
+    @NotNull
+    static <U> Promise<U> any(@NotNull Collection<? extends Promise<? extends U>> promises) {
+        return PromiseCombinators.any(promises);
+    }
+
+    /**
+     * Returns a Promise which completes in the same way as the first of the given promises to complete, whether
+     * successfully or exceptionally.
+     *
+     * <p>The remaining promises are cancelled.</p>
+     *
+     * @param promises the promises
+     * @param <U>      the result type
+     * @return a promise of the first result
+     * @throws IllegalArgumentException if the collection is empty
+     */
+    @NotNull
+    static <U> Promise<U> race(@NotNull Collection<? extends Promise<? extends U>> promises) {
+        return PromiseCombinators.race(promises);
+    }
+
+    /**
+     * Applies the function to each of the inputs in the given context, with at most {@code maxConcurrency}
+     * applications in progress at once.
+     *
+     * <p>If any application throws an exception, the returned promise completes with it, and no further inputs
+     * are started.</p>
+     *
+     * @param inputs         the inputs
+     * @param function       the function to apply
+     * @param maxConcurrency the maximum number of applications in progress at once
+     * @param context        the type of executor to apply the function with
+     * @param <I>            the input type
+     * @param <O>            the output type
+     * @return a promise of the outputs, in the iteration order of the inputs
+     * @throws IllegalArgumentException if maxConcurrency is not positive
+     */
+    @NotNull
+    static <I, O> Promise<List<O>> mapParallel(@NotNull Collection<? extends I> inputs,
+                                               @NotNull Function<? super I, ? extends O> function,
+                                               int maxConcurrency, @NotNull ThreadContext context) {
+        return PromiseCombinators.mapParallel(inputs, function, maxConcurrency, context);
+    }
+
+    /**
+     * Returns a new Promise, and schedules it's population via the given callable, retrying failed attempts
+     * according to the policy.
+     *
+     * <p>Each attempt runs in the given context. Delays between attempts are waited out on the async timer, without
+     * blocking a thread. Cancelling the promise stops any further attempts.</p>
+     *
+     * @param callable the value supplier
+     * @param policy   the retry policy
+     * @param context  the type of executor to run attempts with
+     * @param <U>      the result type
+     * @return the promise
+     */
+    @NotNull
+    static <U> Promise<U> retrying(@NotNull Callable<U> callable, @NotNull RetryPolicy policy,
+                                   @NotNull ThreadContext context) {
+        return RetryingSupplier.start(callable, policy, context);
+    }
+
     /**
      * Returns a new Promise, and schedules it's population via the given supplier.
      *
@@ -134,6 +245,22 @@ public interface Promise<V> extends Future<V>, Terminable {
         return p.supplyAsync(supplier);
     }
 
+    /**
+     * Returns a new Promise, and schedules it's population via the given supplier on a virtual thread.
+     *
+     * <p>Intended for suppliers which block on io.</p>
+     *
+     * @param supplier the value supplier
+     * @param <U>      the result type
+     * @return the promise
+     * @see me.kubbidev.nexuspowered.scheduler.NexusExecutors#virtual()
+     */
+    @NotNull
+    static <U> Promise<U> supplyingVirtual(@NotNull Supplier<U> supplier) {
+        Promise<U> p = empty();
+        return p.supplyVirtual(supplier);
+    }
+
     /**
      * Returns a new Promise, and schedules it's population via the given supplier, after the delay has elapsed.
      *
@@ -265,6 +392,22 @@ public interface Promise<V> extends Future<V>, Terminable {
         return p.supplyExceptionallyAsync(callable);
     }
 
+    /**
+     * Returns a new Promise, and schedules it's population via the given callable on a virtual thread.
+     *
+     * <p>Intended for callables which block on io.</p>
+     *
+     * @param callable the value callable
+     * @param <U>      the result type
+     * @return the promise
+     * @see me.kubbidev.nexuspowered.scheduler.NexusExecutors#virtual()
+     */
+    @NotNull
+    static <U> Promise<U> supplyingExceptionallyVirtual(@NotNull Callable<U> callable) {
+        Promise<U> p = empty();
+        return p.supplyExceptionallyVirtual(callable);
+    }
+
     /**
      * Returns a new Promise, and schedules it's population via the given callable, after the delay has elapsed.
      *
@@ -394,6 +537,36 @@ public interface Promise<V> extends Future<V>, Terminable {
      */
     V getNow(V valueIfAbsent);
 
+    /**
+     * Completes the promise exceptionally with a {@link TimeoutException} if it hasn't completed before the given
+     * timeout.
+     *
+     * <p>The timeout acts as a deadline for the rest of the chain: promises returned by the thenApply and
+     * thenCompose methods of this promise inherit it, so a chain can't be kept pending beyond it by a slow stage.
+     * Promises returned by a thenCompose function are cancelled if the deadline passes while waiting for them.</p>
+     *
+     * <p>The timer runs on the async scheduler, and is cancelled as soon as the promise completes.</p>
+     *
+     * @param timeout the timeout
+     * @param unit    the unit of the timeout
+     * @return the same promise
+     */
+    @NotNull
+    Promise<V> orTimeout(long timeout, @NotNull TimeUnit unit);
+
+    /**
+     * Completes the promise with the given value if it hasn't completed before the given timeout.
+     *
+     * <p>The timer runs on the async scheduler, and is cancelled as soon as the promise completes.</p>
+     *
+     * @param value   the value to complete with
+     * @param timeout the timeout
+     * @param unit    the unit of the timeout
+     * @return the same promise
+     */
+    @NotNull
+    Promise<V> completeOnTimeout(@Nullable V value, long timeout, @NotNull TimeUnit unit);
+
     /**
      * Supplies the Promise's result.
      *
@@ -450,6 +623,16 @@ public interface Promise<V> extends Future<V>, Terminable {
     @NotNull
     Promise<V> supplyAsync(@NotNull Supplier<V> supplier);
 
+    /**
+     * Schedules the supply of the Promise's result, via the given supplier, on a virtual thread.
+     *
+     * @param supplier the supplier
+     * @return the same promise
+     * @throws IllegalStateException if the promise is already being supplied, or has already been completed.
+     */
+    @NotNull
+    Promise<V> supplyVirtual(@NotNull Supplier<V> supplier);
+
     /**
      * Schedules the supply of the Promise's result, via the given supplier, after the delay has elapsed.
      *
@@ -568,6 +751,16 @@ public interface Promise<V> extends Future<V>, Terminable {
     @NotNull
     Promise<V> supplyExceptionallyAsync(@NotNull Callable<V> callable);
 
+    /**
+     * Schedules the supply of the Promise's result, via the given callable, on a virtual thread.
+     *
+     * @param callable the callable
+     * @return the same promise
+     * @throws IllegalStateException if the promise is already being supplied, or has already been completed.
+     */
+    @NotNull
+    Promise<V> supplyExceptionallyVirtual(@NotNull Callable<V> callable);
+
     /**
      * Schedules the supply of the Promise's result, via the given callable, after the delay has elapsed.
      *
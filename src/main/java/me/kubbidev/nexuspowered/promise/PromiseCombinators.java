@@ -0,0 +1,319 @@
+package me.kubbidev.nexuspowered.promise;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implementations of the aggregate operations on {@link Promise}.
+ *
+ * <p>Each operation tracks its inputs with a counter and a single "done" flag, and completes the resulting
+ * promise directly, rather than building on nested futures.</p>
+ */
+final class PromiseCombinators {
+
+    private PromiseCombinators() {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Promise<? extends T>[] snapshot(Collection<? extends Promise<? extends T>> promises) {
+        Objects.requireNonNull(promises, "promises");
+        Promise<? extends T>[] inputs = promises.toArray(new Promise[0]);
+        for (Promise<? extends T> input : inputs) {
+            Objects.requireNonNull(input, "promise");
+        }
+        return inputs;
+    }
+
+    @NotNull
+    static <T> Promise<List<T>> all(@NotNull Collection<? extends Promise<? extends T>> promises) {
+        Promise<? extends T>[] inputs = snapshot(promises);
+        @SuppressWarnings("unchecked")
+        T[] results = (T[]) new Object[inputs.length];
+        return new All<>(inputs, results, array -> Collections.unmodifiableList(Arrays.asList(array))).start();
+    }
+
+    @NotNull
+    static <T> Promise<T[]> all(@NotNull Collection<? extends Promise<? extends T>> promises, @NotNull T[] results) {
+        Promise<? extends T>[] inputs = snapshot(promises);
+        if (results.length < inputs.length) {
+            throw new IllegalArgumentException(
+                "results array is too small: " + results.length + " < " + inputs.length);
+        }
+        return new All<>(inputs, results, Function.identity()).start();
+    }
+
+    @NotNull
+    static <T> Promise<T> any(@NotNull Collection<? extends Promise<? extends T>> promises) {
+        Promise<? extends T>[] inputs = snapshot(promises);
+        if (inputs.length == 0) {
+            throw new IllegalArgumentException("promises is empty");
+        }
+        return new Any<T>(inputs).start();
+    }
+
+    @NotNull
+    static <T> Promise<T> race(@NotNull Collection<? extends Promise<? extends T>> promises) {
+        Promise<? extends T>[] inputs = snapshot(promises);
+        if (inputs.length == 0) {
+            throw new IllegalArgumentException("promises is empty");
+        }
+        return new Race<T>(inputs).start();
+    }
+
+    @NotNull
+    static <I, O> Promise<List<O>> mapParallel(@NotNull Collection<? extends I> inputs,
+                                               @NotNull Function<? super I, ? extends O> function,
+                                               int maxConcurrency, @NotNull ThreadContext context) {
+        Objects.requireNonNull(inputs, "inputs");
+        Objects.requireNonNull(function, "function");
+        Objects.requireNonNull(context, "context");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive: " + maxConcurrency);
+        }
+        return new MapParallel<I, O>(inputs.toArray(), function, maxConcurrency, context).start();
+    }
+
+    /**
+     * Base for an operation which completes a single promise from a number of inputs.
+     *
+     * <p>Once the result is decided, or the result promise is cancelled, any inputs which are still pending
+     * are cancelled.</p>
+     *
+     * @param <T> the input type
+     * @param <R> the result type
+     */
+    private abstract static class Aggregate<T, R> {
+
+        protected final Promise<R>             result = Promise.empty();
+        protected final Promise<? extends T>[] inputs;
+        protected final AtomicInteger          remaining;
+        private final   AtomicBoolean          done   = new AtomicBoolean(false);
+
+        protected Aggregate(Promise<? extends T>[] inputs) {
+            this.inputs = inputs;
+            this.remaining = new AtomicInteger(inputs.length);
+        }
+
+        Promise<R> start() {
+            NexusPromise.whenComplete(this.result, (value, t) -> {
+                if (this.result.isCancelled() && this.done.compareAndSet(false, true)) {
+                    cancelInputs();
+                }
+            });
+            onStart();
+            return this.result;
+        }
+
+        protected void onStart() {
+            for (int i = 0; i < this.inputs.length; i++) {
+                listen(i, this.inputs[i]);
+            }
+        }
+
+        protected final void listen(int index, Promise<? extends T> input) {
+            NexusPromise.whenComplete(input, (value, t) -> {
+                if (!isDone()) {
+                    onResult(index, value, t);
+                }
+            });
+        }
+
+        protected abstract void onResult(int index, @Nullable T value, @Nullable Throwable t);
+
+        protected final boolean isDone() {
+            return this.done.get();
+        }
+
+        protected final void succeed(R value) {
+            if (this.done.compareAndSet(false, true)) {
+                this.result.supply(value);
+                cancelInputs();
+            }
+        }
+
+        protected final void fail(Throwable t) {
+            if (this.done.compareAndSet(false, true)) {
+                this.result.supplyException(t);
+                cancelInputs();
+            }
+        }
+
+        private void cancelInputs() {
+            for (Promise<? extends T> input : this.inputs) {
+                // inputs which haven't been started yet are null
+                if (input != null) {
+                    input.cancel();
+                }
+            }
+        }
+    }
+
+    private static final class All<T, R> extends Aggregate<T, R> {
+
+        private final T[]              results;
+        private final Function<T[], R> finisher;
+
+        private All(Promise<? extends T>[] inputs, T[] results, Function<T[], R> finisher) {
+            super(inputs);
+            this.results = results;
+            this.finisher = finisher;
+        }
+
+        @Override
+        protected void onStart() {
+            if (this.inputs.length == 0) {
+                succeed(this.finisher.apply(this.results));
+            } else {
+                super.onStart();
+            }
+        }
+
+        @Override
+        protected void onResult(int index, @Nullable T value, @Nullable Throwable t) {
+            if (t != null) {
+                fail(t);
+                return;
+            }
+            // the decrement publishes the write to the thread which sees zero
+            this.results[index] = value;
+            if (this.remaining.decrementAndGet() == 0) {
+                succeed(this.finisher.apply(this.results));
+            }
+        }
+    }
+
+    private static final class Any<T> extends Aggregate<T, T> {
+
+        private volatile Throwable failure;
+
+        private Any(Promise<? extends T>[] inputs) {
+            super(inputs);
+        }
+
+        @Override
+        protected void onResult(int index, @Nullable T value, @Nullable Throwable t) {
+            if (t == null) {
+                succeed(value);
+                return;
+            }
+            this.failure = t;
+            if (this.remaining.decrementAndGet() == 0) {
+                fail(this.failure);
+            }
+        }
+    }
+
+    private static final class Race<T> extends Aggregate<T, T> {
+
+        private Race(Promise<? extends T>[] inputs) {
+            super(inputs);
+        }
+
+        @Override
+        protected void onResult(int index, @Nullable T value, @Nullable Throwable t) {
+            if (t != null) {
+                fail(t);
+            } else {
+                succeed(value);
+            }
+        }
+    }
+
+    private static final class MapParallel<I, O> extends Aggregate<O, List<O>> {
+
+        private final Object[]                         items;
+        private final O[]                              results;
+        private final Function<? super I, ? extends O> function;
+        private final int                              maxConcurrency;
+        private final ThreadContext                    context;
+
+        // the index of the next item to start
+        private final AtomicInteger next   = new AtomicInteger(0);
+        // the number of items waiting to be started by whichever thread is already starting items
+        private final AtomicInteger starts = new AtomicInteger(0);
+
+        @SuppressWarnings("unchecked")
+        private MapParallel(Object[] items, Function<? super I, ? extends O> function, int maxConcurrency,
+                            ThreadContext context) {
+            super(new Promise[items.length]);
+            this.items = items;
+            this.results = (O[]) new Object[items.length];
+            this.function = function;
+            this.maxConcurrency = maxConcurrency;
+            this.context = context;
+        }
+
+        @Override
+        protected void onStart() {
+            if (this.items.length == 0) {
+                succeed(Collections.emptyList());
+                return;
+            }
+            requestStarts(Math.min(this.maxConcurrency, this.items.length));
+        }
+
+        /**
+         * Starts the given number of items, or leaves them to the thread which is already starting items.
+         *
+         * <p>Items supplied in the current context complete inline, calling back into {@link #onResult} while they
+         * are being started. Starting the next item from there would recurse once per item, so it is counted here
+         * and started by the loop further up the stack instead.</p>
+         */
+        private void requestStarts(int count) {
+            if (this.starts.getAndAdd(count) != 0) {
+                return;
+            }
+            int pending = count;
+            while (true) {
+                for (int i = 0; i < pending; i++) {
+                    startNext();
+                }
+                pending = this.starts.addAndGet(-pending);
+                if (pending == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void startNext() {
+            int index = this.next.getAndIncrement();
+            if (index >= this.items.length || isDone()) {
+                return;
+            }
+
+            @SuppressWarnings("unchecked")
+            I item = (I) this.items[index];
+            Promise<O> promise = Promise.supplying(this.context, () -> this.function.apply(item));
+            this.inputs[index] = promise;
+
+            // the result may have been decided while the item was being started
+            if (isDone()) {
+                promise.cancel();
+                return;
+            }
+            listen(index, promise);
+        }
+
+        @Override
+        protected void onResult(int index, @Nullable O value, @Nullable Throwable t) {
+            if (t != null) {
+                fail(t);
+                return;
+            }
+            this.results[index] = value;
+            if (this.remaining.decrementAndGet() == 0) {
+                succeed(Collections.unmodifiableList(Arrays.asList(this.results)));
+            } else {
+                requestStarts(1);
+            }
+        }
+    }
+}
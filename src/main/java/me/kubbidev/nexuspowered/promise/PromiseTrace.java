@@ -0,0 +1,77 @@
+package me.kubbidev.nexuspowered.promise;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The creation site of a traced promise, linked to the trace of the promise it depends on.
+ *
+ * @see PromiseTracing
+ */
+public final class PromiseTrace {
+
+    @Nullable
+    private final StackTraceElement site;
+    @Nullable
+    private final PromiseTrace      parent;
+    private final long              createdAt;
+
+    PromiseTrace(@Nullable StackTraceElement site, @Nullable PromiseTrace parent) {
+        this.site = site;
+        this.parent = parent;
+        this.createdAt = System.nanoTime();
+    }
+
+    /**
+     * Gets the first frame outside of NexusPowered's promise and scheduler internals when the promise was
+     * created.
+     *
+     * @return the creation site, or null if it couldn't be found
+     */
+    public @Nullable StackTraceElement getSite() {
+        return this.site;
+    }
+
+    /**
+     * Gets the trace of the promise this one was created from, if it is a dependent stage.
+     *
+     * @return the parent trace
+     */
+    public @Nullable PromiseTrace getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Gets the time since the promise was created.
+     *
+     * @param unit the unit to return the age in
+     * @return the age
+     */
+    public long getAge(@NotNull TimeUnit unit) {
+        return unit.convert(System.nanoTime() - this.createdAt, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the creation sites of this promise and the stages it depends on, most recent first.
+     *
+     * @return the logical chain
+     */
+    public @NotNull List<StackTraceElement> getChain() {
+        List<StackTraceElement> chain = new ArrayList<>();
+        for (PromiseTrace trace = this; trace != null; trace = trace.parent) {
+            if (trace.site != null) {
+                chain.add(trace.site);
+            }
+        }
+        return Collections.unmodifiableList(chain);
+    }
+
+    @Override
+    public String toString() {
+        return "PromiseTrace(site=" + this.site + ", age=" + getAge(TimeUnit.MILLISECONDS) + "ms)";
+    }
+}
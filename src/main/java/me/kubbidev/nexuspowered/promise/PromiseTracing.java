@@ -0,0 +1,174 @@
+package me.kubbidev.nexuspowered.promise;
+
+import com.google.gson.JsonElement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import me.kubbidev.nexuspowered.gson.GsonBuilder;
+import me.kubbidev.nexuspowered.internal.properties.NexusProperties;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An opt-in tracer for promise chains.
+ *
+ * <p>When enabled, each new promise records the frame which created it, and each dependent stage links to the
+ * trace of the promise it was created from. Exceptions thrown by a stage are then reported along with the logical
+ * chain of creation sites, rather than just the stack of the executor thread which ran it.</p>
+ *
+ * <p>Traced promises are kept in a registry until they complete, so promises which are never completed can be
+ * found with {@link #getPending()}.</p>
+ *
+ * <p>New chains can be sampled, so that only every n-th chain is traced. Stages created from a traced promise are
+ * always traced. When disabled, the only cost is a volatile read per promise.</p>
+ */
+public final class PromiseTracing {
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // frames from these packages are skipped when finding the creation site
+    private static final String[] INTERNAL_PREFIXES = {
+        "me.kubbidev.nexuspowered.promise.",
+        "me.kubbidev.nexuspowered.scheduler.",
+        "me.kubbidev.nexuspowered.Schedulers"
+    };
+
+    private static final Set<PromiseTrace> PENDING       = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger     CHAIN_COUNTER = new AtomicInteger(0);
+
+    private static volatile boolean enabled        = Boolean.TRUE.equals(NexusProperties.PROMISE_TRACING.value());
+    private static volatile int     sampleInterval = Math.max(1,
+        NexusProperties.PROMISE_TRACING_SAMPLE_INTERVAL.value());
+
+    private PromiseTracing() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Gets if promise chains are being traced.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the tracing of new promise chains.
+     *
+     * @param enabled if new promises should be traced
+     */
+    public static void setEnabled(boolean enabled) {
+        PromiseTracing.enabled = enabled;
+    }
+
+    /**
+     * Sets how many new promise chains are created for each one which is traced.
+     *
+     * @param sampleInterval the sample interval, 1 to trace every chain
+     */
+    public static void setSampleInterval(int sampleInterval) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("sampleInterval must be at least 1: " + sampleInterval);
+        }
+        PromiseTracing.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Gets the traces of the promises which have not yet completed, oldest first.
+     *
+     * @return the pending promises
+     */
+    public static @NotNull List<PromiseTrace> getPending() {
+        List<PromiseTrace> pending = new ArrayList<>(PENDING);
+        pending.sort(Comparator.comparingLong((PromiseTrace trace) -> trace.getAge(TimeUnit.NANOSECONDS)).reversed());
+        return pending;
+    }
+
+    /**
+     * Forgets all pending promises.
+     */
+    public static void reset() {
+        PENDING.clear();
+    }
+
+    /**
+     * Exports the pending promises, oldest first.
+     *
+     * @return a json form of the pending promises
+     */
+    public static @NotNull JsonElement export() {
+        return getPending().stream()
+            .map(trace -> GsonBuilder.object()
+                .add("ageMs", trace.getAge(TimeUnit.MILLISECONDS))
+                .add("chain", trace.getChain().stream()
+                    .map(element -> GsonBuilder.primitiveNonNull(element.toString()))
+                    .collect(GsonBuilder.collectToArray()))
+                .build())
+            .collect(GsonBuilder.collectToArray());
+    }
+
+    /**
+     * Starts tracing a new promise.
+     *
+     * @param parent the trace of the promise the new one depends on, if any
+     * @return the trace, or null if the promise isn't traced
+     */
+    static @Nullable PromiseTrace start(@Nullable PromiseTrace parent) {
+        if (!enabled) {
+            return null;
+        }
+        if (parent == null) {
+            int interval = sampleInterval;
+            if (interval != 1 && CHAIN_COUNTER.incrementAndGet() % interval != 0) {
+                return null;
+            }
+        }
+        PromiseTrace trace = new PromiseTrace(findSite(), parent);
+        PENDING.add(trace);
+        return trace;
+    }
+
+    /**
+     * Marks a traced promise as completed.
+     *
+     * @param trace the trace
+     */
+    static void complete(@NotNull PromiseTrace trace) {
+        PENDING.remove(trace);
+    }
+
+    /**
+     * Gets the logical chain of the given trace, as stack trace elements.
+     *
+     * @param trace the trace, may be null
+     * @return the chain, or null if the promise wasn't traced
+     */
+    static @Nullable StackTraceElement[] chain(@Nullable PromiseTrace trace) {
+        return trace == null ? null : trace.getChain().toArray(new StackTraceElement[0]);
+    }
+
+    private static @Nullable StackTraceElement findSite() {
+        Optional<StackWalker.StackFrame> frame = WALKER.walk(PromiseTracing::firstExternal);
+        return frame.map(StackWalker.StackFrame::toStackTraceElement).orElse(null);
+    }
+
+    private static Optional<StackWalker.StackFrame> firstExternal(Stream<StackWalker.StackFrame> frames) {
+        return frames.filter(frame -> !isInternal(frame.getClassName())).findFirst();
+    }
+
+    private static boolean isInternal(String className) {
+        for (String prefix : INTERNAL_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
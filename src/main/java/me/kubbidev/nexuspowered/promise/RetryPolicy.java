@@ -0,0 +1,235 @@
+package me.kubbidev.nexuspowered.promise;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Determines whether, and when, a failed operation is retried.
+ *
+ * <p>Retries are delayed with exponential backoff: the delay before retry {@code n} is
+ * {@code initialDelay * multiplier^(n - 1)}, capped at {@code maxDelay}, and then reduced by a random amount up to
+ * the jitter fraction, so that many callers failing at once don't retry in lockstep.</p>
+ *
+ * <p>A policy keeps counts of the retries and give-ups of every operation run with it, so a single instance
+ * should be shared between the operations it applies to.</p>
+ *
+ * @see Promise#retrying(java.util.concurrent.Callable, RetryPolicy, ThreadContext)
+ */
+public final class RetryPolicy {
+
+    private final int                          maxAttempts;
+    private final long                         initialDelayNanos;
+    private final long                         maxDelayNanos;
+    private final double                       multiplier;
+    private final double                       jitter;
+    private final Predicate<? super Throwable> retryPredicate;
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder retries   = new LongAdder();
+    private final LongAdder giveUps   = new LongAdder();
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.initialDelayNanos = builder.initialDelayNanos;
+        this.maxDelayNanos = builder.maxDelayNanos;
+        this.multiplier = builder.multiplier;
+        this.jitter = builder.jitter;
+        this.retryPredicate = builder.retryPredicate;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the maximum number of attempts, including the first.
+     *
+     * @return the maximum number of attempts
+     */
+    public int getMaxAttempts() {
+        return this.maxAttempts;
+    }
+
+    /**
+     * Gets whether an operation which failed on the given attempt should be retried.
+     *
+     * @param attempt the attempt which failed, starting at 1
+     * @param failure the exception thrown by the attempt
+     * @return true to retry
+     */
+    public boolean shouldRetry(int attempt, @NotNull Throwable failure) {
+        if (attempt >= this.maxAttempts) {
+            return false;
+        }
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return this.retryPredicate.test(failure);
+    }
+
+    /**
+     * Gets the delay before retrying an operation which failed on the given attempt.
+     *
+     * @param attempt the attempt which failed, starting at 1
+     * @return the delay in nanoseconds
+     */
+    public long getDelayNanos(int attempt) {
+        double delay = this.initialDelayNanos * Math.pow(this.multiplier, attempt - 1);
+        delay = Math.min(delay, this.maxDelayNanos);
+        if (this.jitter != 0) {
+            delay -= delay * this.jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return (long) delay;
+    }
+
+    /**
+     * Gets the number of operations which completed successfully, whether or not they were retried.
+     *
+     * @return the number of successes
+     */
+    public long getSuccessCount() {
+        return this.successes.sum();
+    }
+
+    /**
+     * Gets the total number of retries made.
+     *
+     * @return the number of retries
+     */
+    public long getRetryCount() {
+        return this.retries.sum();
+    }
+
+    /**
+     * Gets the number of operations which failed and were not retried any further.
+     *
+     * @return the number of give-ups
+     */
+    public long getGiveUpCount() {
+        return this.giveUps.sum();
+    }
+
+    void recordSuccess() {
+        this.successes.increment();
+    }
+
+    void recordRetry() {
+        this.retries.increment();
+    }
+
+    void recordGiveUp() {
+        this.giveUps.increment();
+    }
+
+    public static final class Builder {
+
+        private int                          maxAttempts       = 3;
+        private long                         initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(100);
+        private long                         maxDelayNanos     = TimeUnit.SECONDS.toNanos(10);
+        private double                       multiplier        = 2.0;
+        private double                       jitter            = 0.2;
+        private Predicate<? super Throwable> retryPredicate    = t -> true;
+
+        private Builder() {
+
+        }
+
+        /**
+         * Sets the maximum number of attempts, including the first. Defaults to 3.
+         *
+         * @param maxAttempts the maximum number of attempts
+         * @return this builder
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be at least 1: " + maxAttempts);
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry, and the maximum delay between retries. Defaults to 100ms and 10s.
+         *
+         * @param initialDelay the delay before the first retry
+         * @param maxDelay     the maximum delay
+         * @param unit         the unit of the delays
+         * @return this builder
+         */
+        public Builder backoff(long initialDelay, long maxDelay, TimeUnit unit) {
+            if (initialDelay < 0 || maxDelay < initialDelay) {
+                throw new IllegalArgumentException("invalid delays: " + initialDelay + ", " + maxDelay);
+            }
+            this.initialDelayNanos = unit.toNanos(initialDelay);
+            this.maxDelayNanos = unit.toNanos(maxDelay);
+            return this;
+        }
+
+        /**
+         * Sets the factor the delay is multiplied by after each retry. Defaults to 2.
+         *
+         * @param multiplier the multiplier
+         * @return this builder
+         */
+        public Builder multiplier(double multiplier) {
+            if (!(multiplier >= 1.0)) {
+                throw new IllegalArgumentException("multiplier must be at least 1: " + multiplier);
+            }
+            this.multiplier = multiplier;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of each delay which may be randomly removed. Defaults to 0.2.
+         *
+         * @param jitter the jitter, between 0 and 1
+         * @return this builder
+         */
+        public Builder jitter(double jitter) {
+            if (!(jitter >= 0.0 && jitter <= 1.0)) {
+                throw new IllegalArgumentException("jitter must be between 0 and 1: " + jitter);
+            }
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Only retries failures which match the given predicate. Defaults to retrying every failure.
+         *
+         * @param predicate the predicate
+         * @return this builder
+         */
+        public Builder retryIf(Predicate<? super Throwable> predicate) {
+            this.retryPredicate = Objects.requireNonNull(predicate, "predicate");
+            return this;
+        }
+
+        /**
+         * Only retries failures of the given types.
+         *
+         * @param types the exception types
+         * @return this builder
+         */
+        @SafeVarargs
+        public final Builder retryOn(Class<? extends Throwable>... types) {
+            Class<? extends Throwable>[] copy = types.clone();
+            return retryIf(t -> {
+                for (Class<? extends Throwable> type : copy) {
+                    if (type.isInstance(t)) {
+                        return true;
+                    }
+                }
+                return false;
+            });
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
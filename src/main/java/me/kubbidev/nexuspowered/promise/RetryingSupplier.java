@@ -0,0 +1,92 @@
+package me.kubbidev.nexuspowered.promise;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import me.kubbidev.nexuspowered.interfaces.Delegate;
+import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.scheduler.NexusExecutors;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Supplies a promise from a callable, retrying failed attempts according to a {@link RetryPolicy}.
+ *
+ * <p>Each attempt runs in the given context. The delay between attempts is waited out on the async timer, so no
+ * thread is blocked while backing off.</p>
+ *
+ * @param <V> the result type
+ */
+final class RetryingSupplier<V> implements Runnable, Delegate<Callable<V>> {
+
+    private final Callable<V>   callable;
+    private final RetryPolicy   policy;
+    private final ThreadContext context;
+    private final Promise<V>    promise = Promise.empty();
+
+    // only accessed by the attempt in progress - attempts never overlap
+    private int attempt = 0;
+
+    private volatile ScheduledFuture<?> timer;
+
+    private RetryingSupplier(Callable<V> callable, RetryPolicy policy, ThreadContext context) {
+        this.callable = callable;
+        this.policy = policy;
+        this.context = context;
+    }
+
+    @NotNull
+    static <V> Promise<V> start(@NotNull Callable<V> callable, @NotNull RetryPolicy policy,
+                                @NotNull ThreadContext context) {
+        RetryingSupplier<V> supplier = new RetryingSupplier<>(callable, policy, context);
+        // stop any pending retry once the promise is cancelled
+        NexusPromise.whenComplete(supplier.promise, (value, t) -> {
+            ScheduledFuture<?> timer = supplier.timer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+        });
+        supplier.dispatch();
+        return supplier.promise;
+    }
+
+    @Override
+    public Callable<V> delegate() {
+        return this.callable;
+    }
+
+    private void dispatch() {
+        switch (this.context) {
+            case SYNC -> NexusExecutors.sync().execute(this);
+            case ASYNC -> NexusExecutors.asyncNexus().execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (this.promise.isDone()) {
+            return;
+        }
+
+        int attempt = ++this.attempt;
+        V value;
+        try {
+            value = this.callable.call();
+        } catch (Throwable t) {
+            if (this.policy.shouldRetry(attempt, t)) {
+                this.policy.recordRetry();
+                // the timer hands its task to the async pool, so async attempts can run from it directly
+                Runnable retry = this.context == ThreadContext.ASYNC ? this : this::dispatch;
+                this.timer = NexusExecutors.scheduleTimeout(retry, this.policy.getDelayNanos(attempt),
+                    TimeUnit.NANOSECONDS);
+            } else {
+                this.policy.recordGiveUp();
+                NexusExceptions.reportPromise(t);
+                this.promise.supplyException(t);
+            }
+            return;
+        }
+
+        this.policy.recordSuccess();
+        this.promise.supply(value);
+    }
+}
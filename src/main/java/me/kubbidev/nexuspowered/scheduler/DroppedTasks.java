@@ -0,0 +1,42 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+import java.util.concurrent.Future;
+import me.kubbidev.nexuspowered.interfaces.Delegate;
+import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.terminable.Terminable;
+
+/**
+ * Handles tasks which an executor drops without running, when it is shut down.
+ */
+final class DroppedTasks {
+
+    private DroppedTasks() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Cancels the task, if it, or anything it delegates to, can be cancelled, so anything waiting on its result
+     * completes rather than waiting forever.
+     *
+     * @param task the task
+     */
+    static void cancel(Object task) {
+        while (true) {
+            if (task instanceof Terminable terminable) {
+                Exception e = terminable.closeSilently();
+                if (e != null) {
+                    NexusExceptions.reportScheduler(e);
+                }
+                return;
+            }
+            if (task instanceof Future<?> future) {
+                future.cancel(false);
+                return;
+            }
+            if (!(task instanceof Delegate<?> delegate)) {
+                return;
+            }
+            task = delegate.delegate();
+        }
+    }
+}
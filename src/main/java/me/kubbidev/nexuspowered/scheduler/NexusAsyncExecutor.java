@@ -7,14 +7,19 @@ import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.ReentrantLock;
 import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.scheduler.timings.Timings;
 import org.jetbrains.annotations.NotNull;
 
 final class NexusAsyncExecutor extends AbstractExecutorService implements ScheduledExecutorService {
@@ -30,11 +35,14 @@ final class NexusAsyncExecutor extends AbstractExecutorService implements Schedu
             .setNameFormat("nexuspowered-scheduler-%d")
             .build()
         );
-        this.timerExecutionService = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
             .setDaemon(true)
             .setNameFormat("nexuspowered-scheduler-timer")
             .build()
         );
+        // timers are often cancelled long before they fire - don't leave them in the queue
+        timer.setRemoveOnCancelPolicy(true);
+        this.timerExecutionService = timer;
     }
 
     private ScheduledFuture<?> consumeTask(ScheduledFuture<?> future) {
@@ -54,13 +62,28 @@ final class NexusAsyncExecutor extends AbstractExecutorService implements Schedu
 
     @Override
     public void execute(@NotNull Runnable runnable) {
-        this.taskService.execute(NexusExceptions.wrapSchedulerTask(runnable));
+        this.taskService.execute(Timings.wrap(NexusExceptions.wrapSchedulerTask(runnable)));
     }
 
     @Override
     public @NotNull ScheduledFuture<?> schedule(@NotNull Runnable command, long delay, @NotNull TimeUnit unit) {
         Runnable delegate = NexusExceptions.wrapSchedulerTask(command);
-        return consumeTask(this.timerExecutionService.schedule(() -> this.taskService.execute(delegate), delay, unit));
+        return consumeTask(this.timerExecutionService.schedule(() -> this.taskService.execute(Timings.wrap(delegate)), delay, unit));
+    }
+
+    /**
+     * Schedules a one-shot timer, which hands the command to the task pool when it fires.
+     *
+     * <p>Unlike {@link #schedule(Runnable, long, TimeUnit)}, the timer isn't tracked for cancellation on shutdown,
+     * making it suitable for short-lived timers which are usually cancelled before they fire.</p>
+     *
+     * @param command the command
+     * @param delay   the delay
+     * @param unit    the unit of the delay
+     * @return a future which can be used to cancel the timer
+     */
+    public @NotNull ScheduledFuture<?> scheduleTimer(@NotNull Runnable command, long delay, @NotNull TimeUnit unit) {
+        return this.timerExecutionService.schedule(() -> execute(command), delay, unit);
     }
 
     @Override
@@ -71,14 +94,30 @@ final class NexusAsyncExecutor extends AbstractExecutorService implements Schedu
     @Override
     public @NotNull ScheduledFuture<?> scheduleAtFixedRate(@NotNull Runnable command, long initialDelay, long period,
                                                            @NotNull TimeUnit unit) {
-        return consumeTask(this.timerExecutionService.scheduleAtFixedRate(
-            new FixedRateWorker(NexusExceptions.wrapSchedulerTask(command)), initialDelay, period, unit));
+        return scheduleAtFixedRate(command, initialDelay, period, unit, OverrunPolicy.COALESCE);
+    }
+
+    public @NotNull ScheduledFuture<?> scheduleAtFixedRate(@NotNull Runnable command, long initialDelay, long period,
+                                                           @NotNull TimeUnit unit, @NotNull OverrunPolicy policy) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive: " + period);
+        }
+        FixedRateWorker worker = new FixedRateWorker(NexusExceptions.wrapSchedulerTask(command), policy);
+        worker.timerFuture = this.timerExecutionService.scheduleAtFixedRate(worker, initialDelay, period, unit);
+        return consumeTask(worker);
     }
 
     @Override
     public @NotNull ScheduledFuture<?> scheduleWithFixedDelay(@NotNull Runnable command, long initialDelay, long delay,
                                                               @NotNull TimeUnit unit) {
-        return scheduleAtFixedRate(command, initialDelay, delay, unit);
+        if (delay <= 0) {
+            throw new IllegalArgumentException("delay must be positive: " + delay);
+        }
+        FixedDelayWorker worker = new FixedDelayWorker(NexusExceptions.wrapSchedulerTask(command), delay, unit);
+        synchronized (worker) {
+            worker.timerFuture = this.timerExecutionService.schedule(worker, initialDelay, unit);
+        }
+        return consumeTask(worker);
     }
 
     @Override
@@ -107,40 +146,165 @@ final class NexusAsyncExecutor extends AbstractExecutorService implements Schedu
         throw new IllegalStateException("Not shutdown");
     }
 
-    private final class FixedRateWorker implements Runnable {
+    /**
+     * Base class for repeating tasks.
+     *
+     * <p>Each worker is a single reusable object: the timer fires the worker itself, which hands its
+     * {@link #runner} to the task pool. Nothing is allocated per period, and no lock is held while
+     * the delegate runs.</p>
+     */
+    private abstract static class RepeatingWorker implements Runnable, ScheduledFuture<Object> {
+
+        protected final Runnable delegate;
+        protected final Runnable runner = this::runDelegate;
 
-        private final Runnable      delegate;
-        private final ReentrantLock lock    = new ReentrantLock();
-        private final AtomicInteger running = new AtomicInteger(0);
+        // completed when the worker is cancelled
+        private final CompletableFuture<Object> done = new CompletableFuture<>();
 
-        private FixedRateWorker(Runnable delegate) {
+        protected volatile boolean            cancelled = false;
+        protected volatile ScheduledFuture<?> timerFuture;
+
+        RepeatingWorker(Runnable delegate) {
             this.delegate = delegate;
         }
 
-        // the purpose of 'lock' and 'running' is to prevent concurrent
-        // execution on the underlying delegate runnable.
-        // only one instance of the worker will "wait" for the previous task to finish
+        protected abstract void runDelegate();
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (this.cancelled) {
+                return false;
+            }
+            this.cancelled = true;
+            ScheduledFuture<?> timerFuture = this.timerFuture;
+            if (timerFuture != null) {
+                timerFuture.cancel(false);
+            }
+            return this.done.cancel(false);
+        }
 
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return this.cancelled;
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            return this.done.get();
+        }
+
+        @Override
+        public Object get(long timeout, @NotNull TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+            return this.done.get(timeout, unit);
+        }
+
+        @Override
+        public long getDelay(@NotNull TimeUnit unit) {
+            ScheduledFuture<?> timerFuture = this.timerFuture;
+            return timerFuture == null ? 0 : timerFuture.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(@NotNull Delayed o) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), o.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private final class FixedRateWorker extends RepeatingWorker {
+
+        private final int           maxPending;
+        // the number of runs in progress or waiting to run
+        private final AtomicInteger pending = new AtomicInteger(0);
+
+        private FixedRateWorker(Runnable delegate, OverrunPolicy policy) {
+            super(delegate);
+            this.maxPending = policy.maxPending;
+        }
+
+        // called by the timer thread once per period
+        @Override
+        public void run() {
+            if (this.cancelled) {
+                return;
+            }
+            while (true) {
+                int pending = this.pending.get();
+                if (pending >= this.maxPending) {
+                    // overrunning - the policy says to drop this period
+                    return;
+                }
+                if (this.pending.compareAndSet(pending, pending + 1)) {
+                    if (pending == 0) {
+                        // nothing running - start a run. otherwise the running
+                        // runner will pick this period up when it finishes
+                        NexusAsyncExecutor.this.taskService.execute(this.runner);
+                    }
+                    return;
+                }
+            }
+        }
+
+        // called by a pool thread
+        @Override
+        protected void runDelegate() {
+            do {
+                if (this.cancelled) {
+                    this.pending.set(0);
+                    return;
+                }
+                this.delegate.run();
+            } while (this.pending.decrementAndGet() > 0);
+        }
+    }
+
+    private final class FixedDelayWorker extends RepeatingWorker {
+
+        private final long     delay;
+        private final TimeUnit unit;
+
+        private FixedDelayWorker(Runnable delegate, long delay, TimeUnit unit) {
+            super(delegate);
+            this.delay = delay;
+            this.unit = unit;
+        }
+
+        // called by the timer thread once the delay has elapsed
         @Override
         public void run() {
-            // assuming a task that takes a really long time:
-            // first call: running=1 - we want to run
-            // second call: running=2 - we want to wait
-            // third call: running=3 - assuming second is still waiting, we want to cancel
-            if (this.running.incrementAndGet() > 2) {
-                this.running.decrementAndGet();
+            if (!this.cancelled) {
+                NexusAsyncExecutor.this.taskService.execute(this.runner);
+            }
+        }
+
+        // called by a pool thread
+        @Override
+        protected void runDelegate() {
+            if (this.cancelled) {
                 return;
             }
+            this.delegate.run();
 
-            NexusAsyncExecutor.this.taskService.execute(() -> {
-                this.lock.lock();
-                try {
-                    this.delegate.run();
-                } finally {
-                    this.lock.unlock();
-                    this.running.decrementAndGet();
+            // the next run is only scheduled once this one has finished
+            synchronized (this) {
+                if (!this.cancelled) {
+                    this.timerFuture = NexusAsyncExecutor.this.timerExecutionService.schedule(
+                        this, this.delay, this.unit);
                 }
-            });
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            // synchronized so the cancel can't race with the next run being scheduled
+            synchronized (this) {
+                return super.cancel(mayInterruptIfRunning);
+            }
         }
     }
-}
\ No newline at end of file
+}
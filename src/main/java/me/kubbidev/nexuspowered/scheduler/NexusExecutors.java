@@ -2,8 +2,11 @@ package me.kubbidev.nexuspowered.scheduler;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import me.kubbidev.nexuspowered.internal.LoaderUtils;
 import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.internal.properties.NexusProperties;
 import org.bukkit.Bukkit;
 import org.jetbrains.annotations.NotNull;
 
@@ -12,26 +15,109 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class NexusExecutors {
 
-    private static final Executor           SYNC_BUKKIT  = new BukkitSyncExecutor();
+    private static final NexusSyncExecutor  SYNC_NEXUS   = new NexusSyncExecutor(
+        NexusProperties.SYNC_TICK_BUDGET_NANOS.value());
     private static final Executor           ASYNC_BUKKIT = new BukkitAsyncExecutor();
     private static final NexusAsyncExecutor ASYNC_NEXUS  = new NexusAsyncExecutor();
+    private static final Executor           VIRTUAL      = new NexusVirtualExecutor(
+        NexusProperties.VIRTUAL_MAX_IN_FLIGHT.value());
+    private static final NexusTickWheel     TICK_WHEEL   = new NexusTickWheel();
 
     private NexusExecutors() {
     }
 
-    public static Executor sync() {
-        return SYNC_BUKKIT;
+    /**
+     * Gets an executor which runs tasks on the main server thread.
+     *
+     * <p>Tasks are drained from a queue once per tick, within the budget given by the
+     * {@link NexusProperties#SYNC_TICK_BUDGET_NANOS} property.</p>
+     *
+     * @return the sync executor
+     */
+    public static SyncExecutor sync() {
+        return SYNC_NEXUS;
     }
 
     public static ScheduledExecutorService asyncNexus() {
         return ASYNC_NEXUS;
     }
 
+    /**
+     * Schedules a repeating task on the {@link #asyncNexus() async} executor, at a fixed rate.
+     *
+     * <p>Runs of the task never overlap. The policy determines what happens to periods which
+     * elapse while a previous run is still in progress.</p>
+     *
+     * @param command      the task to run
+     * @param initialDelay the delay before the first run
+     * @param period       the period between the start of successive runs
+     * @param unit         the unit of the delay and period
+     * @param policy       the overrun policy
+     * @return a future which can be used to cancel the task
+     */
+    public static ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period,
+                                                         TimeUnit unit, OverrunPolicy policy) {
+        return ASYNC_NEXUS.scheduleAtFixedRate(command, initialDelay, period, unit, policy);
+    }
+
+    /**
+     * Schedules a task to run on the main server thread after the given number of ticks.
+     *
+     * <p>All tick delays share a single timing wheel, driven by one repeating task, rather than
+     * scheduling a server task each.</p>
+     *
+     * @param command    the task to run
+     * @param delayTicks the delay in ticks
+     */
+    public static void scheduleSync(@NotNull Runnable command, long delayTicks) {
+        TICK_WHEEL.scheduleSync(command, delayTicks);
+    }
+
+    /**
+     * Schedules a task to run on the {@link #asyncNexus() async} executor after the given number of ticks.
+     *
+     * @param command    the task to run
+     * @param delayTicks the delay in ticks
+     * @see #scheduleSync(Runnable, long)
+     */
+    public static void scheduleAsync(@NotNull Runnable command, long delayTicks) {
+        TICK_WHEEL.scheduleAsync(command, delayTicks, ASYNC_NEXUS);
+    }
+
+    /**
+     * Schedules a one-shot timer on the {@link #asyncNexus() async} executor.
+     *
+     * <p>Intended for timeouts, which are usually cancelled before they fire. Cancelled timers are removed
+     * from the timer queue straight away.</p>
+     *
+     * @param command the task to run once the delay has elapsed
+     * @param delay   the delay
+     * @param unit    the unit of the delay
+     * @return a future which can be used to cancel the timer
+     */
+    public static ScheduledFuture<?> scheduleTimeout(Runnable command, long delay, TimeUnit unit) {
+        return ASYNC_NEXUS.scheduleTimer(command, delay, unit);
+    }
+
+    /**
+     * Gets an executor which runs each task on its own virtual thread.
+     *
+     * <p>Suited to blocking io. The number of concurrently running tasks is
+     * bounded by the {@link NexusProperties#VIRTUAL_MAX_IN_FLIGHT} property.</p>
+     *
+     * @return the virtual thread executor
+     */
+    public static Executor virtual() {
+        return VIRTUAL;
+    }
+
     public static Executor asyncBukkit() {
         return ASYNC_BUKKIT;
     }
 
     public static void shutdown() {
+        SYNC_NEXUS.shutdown();
+        TICK_WHEEL.shutdown();
         ASYNC_NEXUS.cancelRepeatingTasks();
     }
 
@@ -40,15 +126,6 @@ public final class NexusExecutors {
         return NexusExceptions.wrapSchedulerTask(runnable);
     }
 
-    private static final class BukkitSyncExecutor implements Executor {
-
-        @Override
-        public void execute(@NotNull Runnable runnable) {
-            Bukkit.getScheduler()
-                .scheduleSyncDelayedTask(LoaderUtils.getPlugin(), NexusExceptions.wrapSchedulerTask(runnable));
-        }
-    }
-
     private static final class BukkitAsyncExecutor implements Executor {
 
         @Override
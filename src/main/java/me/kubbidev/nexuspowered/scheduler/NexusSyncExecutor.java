@@ -0,0 +1,169 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import me.kubbidev.nexuspowered.internal.LoaderUtils;
+import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.scheduler.timings.Timings;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+final class NexusSyncExecutor implements SyncExecutor, Runnable {
+
+    private final Lane[]        lanes   = new Lane[Priority.values().length];
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private volatile long       tickBudgetNanos;
+    private volatile BukkitTask drainTask;
+
+    // only written by the main thread
+    private volatile long executedCount;
+    private volatile long overrunTicks;
+    private volatile long lastDrainNanos;
+
+    NexusSyncExecutor(long tickBudgetNanos) {
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = new Lane();
+        }
+        setTickBudgetNanos(tickBudgetNanos);
+    }
+
+    @Override
+    public void execute(@NotNull Runnable runnable) {
+        execute(runnable, Priority.NORMAL);
+    }
+
+    @Override
+    public void execute(@NotNull Runnable runnable, @NotNull Priority priority) {
+        Objects.requireNonNull(runnable, "runnable");
+        Lane lane = this.lanes[priority.ordinal()];
+        lane.size.incrementAndGet();
+        lane.queue.offer(Timings.wrap(runnable));
+        ensureStarted();
+    }
+
+    private void ensureStarted() {
+        if (this.started.get() || !this.started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.drainTask = Bukkit.getScheduler().runTaskTimer(LoaderUtils.getPlugin(), this, 0L, 1L);
+        } catch (Throwable t) {
+            this.started.set(false);
+            throw t;
+        }
+    }
+
+    /**
+     * Stops draining the queues, and cancels every task which hasn't run yet. Must be called on the main thread.
+     */
+    void shutdown() {
+        BukkitTask task = this.drainTask;
+        if (task != null) {
+            task.cancel();
+            this.drainTask = null;
+        }
+        // cancel what was dropped, so promises waiting in the lanes complete rather than hanging
+        for (Lane lane : this.lanes) {
+            for (Runnable runnable; (runnable = lane.queue.poll()) != null; ) {
+                lane.size.decrementAndGet();
+                DroppedTasks.cancel(runnable);
+            }
+        }
+        this.started.set(false);
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        long deadline = start + this.tickBudgetNanos;
+        long executed = 0;
+
+        boolean overrun = false;
+        for (Lane lane : this.lanes) {
+            Runnable runnable;
+            while (true) {
+                // always make progress, even if the budget is smaller than a single task
+                if (executed != 0 && System.nanoTime() - deadline >= 0) {
+                    overrun = true;
+                    break;
+                }
+                if ((runnable = lane.queue.poll()) == null) {
+                    break;
+                }
+                lane.size.decrementAndGet();
+                try {
+                    runnable.run();
+                } catch (Throwable t) {
+                    NexusExceptions.reportScheduler(t);
+                }
+                executed++;
+            }
+            if (overrun) {
+                break;
+            }
+        }
+
+        this.lastDrainNanos = System.nanoTime() - start;
+        if (executed != 0) {
+            this.executedCount += executed;
+        }
+        if (overrun && getBacklog() != 0) {
+            this.overrunTicks++;
+        }
+    }
+
+    @Override
+    public long getTickBudgetNanos() {
+        return this.tickBudgetNanos;
+    }
+
+    @Override
+    public void setTickBudgetNanos(long tickBudgetNanos) {
+        if (tickBudgetNanos <= 0) {
+            throw new IllegalArgumentException("tickBudgetNanos must be positive: " + tickBudgetNanos);
+        }
+        this.tickBudgetNanos = tickBudgetNanos;
+    }
+
+    @Override
+    public int getBacklog() {
+        int backlog = 0;
+        for (Lane lane : this.lanes) {
+            backlog += lane.size.get();
+        }
+        return backlog;
+    }
+
+    @Override
+    public int getBacklog(@NotNull Priority priority) {
+        return this.lanes[priority.ordinal()].size.get();
+    }
+
+    @Override
+    public long getExecutedCount() {
+        return this.executedCount;
+    }
+
+    @Override
+    public long getOverrunTicks() {
+        return this.overrunTicks;
+    }
+
+    @Override
+    public long getLastDrainNanos() {
+        return this.lastDrainNanos;
+    }
+
+    private static final class Lane {
+
+        // many producers, one consumer (the main thread)
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        // ConcurrentLinkedQueue#size is O(n), so the size is tracked separately
+        private final AtomicInteger   size  = new AtomicInteger(0);
+    }
+}
@@ -0,0 +1,183 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import me.kubbidev.nexuspowered.internal.LoaderUtils;
+import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.scheduler.timings.Timings;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A hashed timing wheel of one-shot tick delays, driven by a single repeating sync task.
+ *
+ * <p>Tasks are submitted to a lock-free inbox from any thread, and moved into their bucket by the main
+ * thread at the start of each tick. Each tick, the tasks in the current bucket which are due are either run
+ * on the main thread, or handed to their async executor.</p>
+ */
+final class NexusTickWheel implements Runnable {
+
+    // must be a power of two
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final Queue<Entry>  inbox   = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    // only accessed by the main thread. each bucket is kept in submission order, so tasks due on the same
+    // tick run first in, first out, as they would with the bukkit scheduler
+    private final Entry[] buckets = new Entry[WHEEL_SIZE];
+    private final Entry[] tails   = new Entry[WHEEL_SIZE];
+
+    // only written by the main thread
+    private volatile long tick = 0;
+
+    private volatile BukkitTask driverTask;
+
+    NexusTickWheel() {
+    }
+
+    /**
+     * Schedules the task to run on the main thread, after the given number of ticks.
+     *
+     * @param runnable   the task
+     * @param delayTicks the delay in ticks
+     */
+    void scheduleSync(@NotNull Runnable runnable, long delayTicks) {
+        schedule(runnable, delayTicks, null);
+    }
+
+    /**
+     * Schedules the task to be handed to the given executor, after the given number of ticks.
+     *
+     * @param runnable   the task
+     * @param delayTicks the delay in ticks
+     * @param executor   the executor to run the task with
+     */
+    void scheduleAsync(@NotNull Runnable runnable, long delayTicks, @NotNull Executor executor) {
+        schedule(runnable, delayTicks, Objects.requireNonNull(executor, "executor"));
+    }
+
+    private void schedule(Runnable runnable, long delayTicks, @Nullable Executor executor) {
+        Objects.requireNonNull(runnable, "runnable");
+        Runnable task = executor == null ? Timings.wrap(runnable) : runnable;
+        this.inbox.offer(new Entry(task, executor, this.tick + Math.max(delayTicks, 1L)));
+        ensureStarted();
+    }
+
+    private void ensureStarted() {
+        if (this.started.get() || !this.started.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.driverTask = Bukkit.getScheduler().runTaskTimer(LoaderUtils.getPlugin(), this, 1L, 1L);
+        } catch (Throwable t) {
+            this.started.set(false);
+            throw t;
+        }
+    }
+
+    /**
+     * Stops the wheel, and cancels every task which hasn't run yet. Must be called on the main thread.
+     */
+    void shutdown() {
+        BukkitTask task = this.driverTask;
+        if (task != null) {
+            task.cancel();
+            this.driverTask = null;
+        }
+        this.started.set(false);
+
+        // drop everything still waiting, so nothing fires late if the wheel is started again
+        for (Entry entry; (entry = this.inbox.poll()) != null; ) {
+            entry.cancel();
+        }
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            Entry entry = this.buckets[i];
+            this.buckets[i] = null;
+            this.tails[i] = null;
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.next = null;
+                entry.cancel();
+                entry = next;
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        long tick = this.tick + 1;
+        this.tick = tick;
+
+        // move newly scheduled entries into their buckets
+        for (Entry entry; (entry = this.inbox.poll()) != null; ) {
+            // entries which were due before they reached the wheel run this tick
+            append((int) (Math.max(entry.dueTick, tick) & WHEEL_MASK), entry);
+        }
+
+        // run the due entries of the current bucket, keeping any which are due in a later rotation
+        int index = (int) (tick & WHEEL_MASK);
+        Entry entry = this.buckets[index];
+        this.buckets[index] = null;
+        this.tails[index] = null;
+
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.next = null;
+            if (entry.dueTick > tick) {
+                append(index, entry);
+            } else {
+                entry.dispatch();
+            }
+            entry = next;
+        }
+    }
+
+    private void append(int index, Entry entry) {
+        Entry tail = this.tails[index];
+        if (tail == null) {
+            this.buckets[index] = entry;
+        } else {
+            tail.next = entry;
+        }
+        this.tails[index] = entry;
+    }
+
+    private static final class Entry {
+
+        private final Runnable task;
+        @Nullable
+        private final Executor executor;
+        private final long     dueTick;
+
+        private Entry next;
+
+        private Entry(Runnable task, @Nullable Executor executor, long dueTick) {
+            this.task = task;
+            this.executor = executor;
+            this.dueTick = dueTick;
+        }
+
+        void dispatch() {
+            try {
+                if (this.executor == null) {
+                    this.task.run();
+                } else {
+                    this.executor.execute(this.task);
+                }
+            } catch (Throwable t) {
+                NexusExceptions.reportScheduler(t);
+            }
+        }
+
+        void cancel() {
+            DroppedTasks.cancel(this.task);
+        }
+    }
+}
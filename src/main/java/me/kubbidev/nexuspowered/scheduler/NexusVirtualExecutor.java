@@ -0,0 +1,68 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import me.kubbidev.nexuspowered.interfaces.Delegate;
+import me.kubbidev.nexuspowered.internal.exception.NexusExceptions;
+import me.kubbidev.nexuspowered.scheduler.timings.Timings;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link Executor} which runs each submitted task on its own virtual thread.
+ *
+ * <p>Intended for blocking work (database queries, http calls, file io) which would
+ * otherwise occupy a platform thread from the shared async pool while waiting.</p>
+ *
+ * <p>Virtual threads are created by the submitting thread, so inheritable thread locals
+ * and the context class loader of the caller are propagated to the task.</p>
+ *
+ * <p>The number of tasks running at once is bounded by a fair {@link Semaphore}. Tasks
+ * exceeding the limit park their (cheap) virtual thread until a permit is released,
+ * rather than being rejected.</p>
+ */
+final class NexusVirtualExecutor implements Executor {
+
+    private final ThreadFactory threadFactory;
+    private final Semaphore     limiter;
+
+    NexusVirtualExecutor(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.threadFactory = Thread.ofVirtual()
+            .name("nexuspowered-virtual-", 0)
+            .inheritInheritableThreadLocals(true)
+            .factory();
+        this.limiter = new Semaphore(maxInFlight, true);
+    }
+
+    @Override
+    public void execute(@NotNull Runnable runnable) {
+        this.threadFactory.newThread(new LimitedTask(Timings.wrap(NexusExceptions.wrapSchedulerTask(runnable)))).start();
+    }
+
+    private final class LimitedTask implements Runnable, Delegate<Runnable> {
+
+        private final Runnable delegate;
+
+        private LimitedTask(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Runnable delegate() {
+            return this.delegate;
+        }
+
+        @Override
+        public void run() {
+            NexusVirtualExecutor.this.limiter.acquireUninterruptibly();
+            try {
+                this.delegate.run();
+            } finally {
+                NexusVirtualExecutor.this.limiter.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+/**
+ * Determines what happens when a fixed-rate repeating task is due to run while its previous run is still in
+ * progress.
+ *
+ * <p>Runs of the same task never overlap, regardless of the policy.</p>
+ */
+public enum OverrunPolicy {
+
+    /**
+     * Periods which elapse while the task is running are dropped.
+     */
+    SKIP(1),
+
+    /**
+     * Any number of periods which elapse while the task is running are coalesced into a single run, which starts as
+     * soon as the current run finishes.
+     */
+    COALESCE(2),
+
+    /**
+     * Every period which elapses while the task is running is executed, back to back, once the current run
+     * finishes.
+     */
+    CATCH_UP(Integer.MAX_VALUE);
+
+    // the maximum number of runs which may be in progress or pending at once
+    final int maxPending;
+
+    OverrunPolicy(int maxPending) {
+        this.maxPending = maxPending;
+    }
+}
@@ -0,0 +1,103 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+import java.util.concurrent.Executor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An {@link Executor} which runs tasks on the main server thread, within a per-tick time budget.
+ *
+ * <p>Submitted tasks are queued and drained by a single repeating task. Work which does
+ * not fit in the budget of the current tick is carried over to the next one.</p>
+ *
+ * <p>At least one task is executed each tick, so a budget smaller than the cost of
+ * a single task still guarantees progress.</p>
+ */
+public interface SyncExecutor extends Executor {
+
+    /**
+     * Queues the runnable at {@link Priority#NORMAL normal} priority.
+     *
+     * @param runnable the runnable
+     */
+    @Override
+    void execute(@NotNull Runnable runnable);
+
+    /**
+     * Queues the runnable in the lane of the given priority.
+     *
+     * @param runnable the runnable
+     * @param priority the priority
+     */
+    void execute(@NotNull Runnable runnable, @NotNull Priority priority);
+
+    /**
+     * Gets the maximum time spent draining the queue each tick.
+     *
+     * @return the tick budget in nanoseconds
+     */
+    long getTickBudgetNanos();
+
+    /**
+     * Sets the maximum time spent draining the queue each tick.
+     *
+     * @param tickBudgetNanos the tick budget in nanoseconds
+     */
+    void setTickBudgetNanos(long tickBudgetNanos);
+
+    /**
+     * Gets the number of tasks waiting to be executed.
+     *
+     * @return the backlog size
+     */
+    int getBacklog();
+
+    /**
+     * Gets the number of tasks waiting to be executed in the given lane.
+     *
+     * @param priority the priority
+     * @return the backlog size of the lane
+     */
+    int getBacklog(@NotNull Priority priority);
+
+    /**
+     * Gets the total number of tasks executed.
+     *
+     * @return the number of executed tasks
+     */
+    long getExecutedCount();
+
+    /**
+     * Gets the number of ticks which ended with work carried over to the next tick.
+     *
+     * @return the number of overrun ticks
+     */
+    long getOverrunTicks();
+
+    /**
+     * Gets the time spent draining the queue during the last tick.
+     *
+     * @return the drain time in nanoseconds
+     */
+    long getLastDrainNanos();
+
+    /**
+     * The lanes of the queue, drained in declaration order.
+     */
+    enum Priority {
+
+        /**
+         * Drained before any other lane.
+         */
+        HIGH,
+
+        /**
+         * The default lane.
+         */
+        NORMAL,
+
+        /**
+         * Drained once all other lanes are empty.
+         */
+        LOW
+    }
+}
@@ -0,0 +1,91 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import me.kubbidev.nexuspowered.terminable.Terminable;
+import me.kubbidev.nexuspowered.terminable.TerminableConsumer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A scope which ties the lifetime of asynchronous work to its owner.
+ *
+ * <p>Every promise, future and repeating task started through, or tracked by, the scope is
+ * cancelled when the scope is {@link #close() closed}. Work started after the scope has been
+ * closed is cancelled straight away.</p>
+ *
+ * <p>A scope is usually bound to a {@link TerminableConsumer} such as a plugin, module or menu,
+ * so that closing the owner also stops any work still in flight.</p>
+ */
+public interface TaskScope extends Terminable {
+
+    /**
+     * Creates a new standalone scope.
+     *
+     * @return a new scope
+     */
+    static @NotNull TaskScope create() {
+        return new TaskScopeImpl();
+    }
+
+    /**
+     * Creates a new scope, bound to the given consumer.
+     *
+     * @param consumer the consumer to bind with
+     * @return a new scope
+     */
+    static @NotNull TaskScope create(@NotNull TerminableConsumer consumer) {
+        return consumer.bind(new TaskScopeImpl());
+    }
+
+    /**
+     * Gets a view of the scheduler whose promises and tasks are tracked by this scope.
+     *
+     * @param scheduler the scheduler to wrap
+     * @return a scoped scheduler
+     */
+    @NotNull Scheduler scheduler(@NotNull Scheduler scheduler);
+
+    /**
+     * Tracks the given future, cancelling it when the scope is closed.
+     *
+     * @param future the future
+     * @param <T>    the future type
+     * @return the same future
+     */
+    @NotNull <T extends Future<?>> T track(@NotNull T future);
+
+    /**
+     * Tracks the given task, stopping it when the scope is closed.
+     *
+     * @param task the task
+     * @param <T>  the task type
+     * @return the same task
+     */
+    @NotNull <T extends Task> T track(@NotNull T task);
+
+    /**
+     * Gets the number of tracked futures which have not completed, and tasks which have not stopped.
+     *
+     * @return the number of active entries
+     */
+    int getActiveCount();
+
+    /**
+     * Waits for the tracked futures to complete, then closes the scope.
+     *
+     * <p>Repeating tasks are not waited for. Any futures still pending once the timeout
+     * has elapsed are cancelled.</p>
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true if every future completed within the timeout
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    boolean join(long timeout, @NotNull TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Cancels all tracked futures and stops all tracked tasks.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,212 @@
+package me.kubbidev.nexuspowered.scheduler;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import me.kubbidev.nexuspowered.interfaces.Delegate;
+import me.kubbidev.nexuspowered.promise.Promise;
+import me.kubbidev.nexuspowered.promise.ThreadContext;
+import org.jetbrains.annotations.NotNull;
+
+final class TaskScopeImpl implements TaskScope {
+
+    // prune completed entries every this many additions
+    private static final int PRUNE_INTERVAL = 32;
+
+    // holds Futures and Tasks
+    private final Queue<Object> entries   = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger additions = new AtomicInteger(0);
+
+    private volatile boolean closed = false;
+
+    TaskScopeImpl() {
+    }
+
+    private static boolean isActive(Object entry) {
+        if (entry instanceof Future<?> future) {
+            return !future.isDone();
+        }
+        return !((Task) entry).isClosed();
+    }
+
+    private static void cancel(Object entry) {
+        if (entry instanceof Future<?> future) {
+            future.cancel(false);
+        } else {
+            ((Task) entry).stop();
+        }
+    }
+
+    private <T> T add(T entry) {
+        Objects.requireNonNull(entry, "entry");
+        if (this.closed) {
+            cancel(entry);
+            return entry;
+        }
+
+        this.entries.offer(entry);
+        if (this.additions.incrementAndGet() % PRUNE_INTERVAL == 0) {
+            this.entries.removeIf(e -> !isActive(e));
+        }
+
+        // the scope may have been closed between the check and the offer
+        if (this.closed && this.entries.remove(entry)) {
+            cancel(entry);
+        }
+        return entry;
+    }
+
+    @Override
+    public @NotNull Scheduler scheduler(@NotNull Scheduler scheduler) {
+        Objects.requireNonNull(scheduler, "scheduler");
+        return new ScopedScheduler(scheduler);
+    }
+
+    @Override
+    public <T extends Future<?>> @NotNull T track(@NotNull T future) {
+        return add(future);
+    }
+
+    @Override
+    public <T extends Task> @NotNull T track(@NotNull T task) {
+        return add(task);
+    }
+
+    @Override
+    public int getActiveCount() {
+        int count = 0;
+        for (Object entry : this.entries) {
+            if (isActive(entry)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean join(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean completed = true;
+        for (Object entry : this.entries) {
+            if (!(entry instanceof Future<?> future)) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                completed = completed && future.isDone();
+                continue;
+            }
+            try {
+                future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | RuntimeException e) {
+                // completed exceptionally or cancelled - either way, it's done
+            } catch (TimeoutException e) {
+                completed = false;
+            }
+        }
+        close();
+        return completed;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        for (Object entry; (entry = this.entries.poll()) != null; ) {
+            cancel(entry);
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    private final class ScopedScheduler implements Scheduler, Delegate<Scheduler> {
+
+        private final Scheduler delegate;
+
+        private ScopedScheduler(Scheduler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Scheduler delegate() {
+            return this.delegate;
+        }
+
+        @Override
+        public void execute(@NotNull Runnable runnable) {
+            add(this.delegate.run(runnable));
+        }
+
+        @Override
+        public @NotNull ThreadContext getContext() {
+            return this.delegate.getContext();
+        }
+
+        @Override
+        public @NotNull <T> Promise<T> supply(@NotNull Supplier<T> supplier) {
+            return add(this.delegate.supply(supplier));
+        }
+
+        @Override
+        public @NotNull <T> Promise<T> call(@NotNull Callable<T> callable) {
+            return add(this.delegate.call(callable));
+        }
+
+        @Override
+        public @NotNull Promise<Void> run(@NotNull Runnable runnable) {
+            return add(this.delegate.run(runnable));
+        }
+
+        @Override
+        public @NotNull <T> Promise<T> supplyLater(@NotNull Supplier<T> supplier, long delayTicks) {
+            return add(this.delegate.supplyLater(supplier, delayTicks));
+        }
+
+        @Override
+        public @NotNull <T> Promise<T> supplyLater(@NotNull Supplier<T> supplier, long delay,
+                                                   @NotNull TimeUnit unit) {
+            return add(this.delegate.supplyLater(supplier, delay, unit));
+        }
+
+        @Override
+        public @NotNull <T> Promise<T> callLater(@NotNull Callable<T> callable, long delayTicks) {
+            return add(this.delegate.callLater(callable, delayTicks));
+        }
+
+        @Override
+        public @NotNull <T> Promise<T> callLater(@NotNull Callable<T> callable, long delay, @NotNull TimeUnit unit) {
+            return add(this.delegate.callLater(callable, delay, unit));
+        }
+
+        @Override
+        public @NotNull Promise<Void> runLater(@NotNull Runnable runnable, long delayTicks) {
+            return add(this.delegate.runLater(runnable, delayTicks));
+        }
+
+        @Override
+        public @NotNull Promise<Void> runLater(@NotNull Runnable runnable, long delay, @NotNull TimeUnit unit) {
+            return add(this.delegate.runLater(runnable, delay, unit));
+        }
+
+        @Override
+        public @NotNull Task runRepeating(@NotNull Consumer<Task> consumer, long delayTicks, long intervalTicks) {
+            return add(this.delegate.runRepeating(consumer, delayTicks, intervalTicks));
+        }
+
+        @Override
+        public @NotNull Task runRepeating(@NotNull Consumer<Task> consumer, long delay, @NotNull TimeUnit delayUnit,
+                                          long interval, @NotNull TimeUnit intervalUnit) {
+            return add(this.delegate.runRepeating(consumer, delay, delayUnit, interval, intervalUnit));
+        }
+    }
+}
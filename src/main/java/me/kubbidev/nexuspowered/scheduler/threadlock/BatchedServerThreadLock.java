@@ -0,0 +1,169 @@
+package me.kubbidev.nexuspowered.scheduler.threadlock;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import me.kubbidev.nexuspowered.promise.ThreadContext;
+import me.kubbidev.nexuspowered.scheduler.NexusExecutors;
+import me.kubbidev.nexuspowered.scheduler.SyncExecutor;
+import me.kubbidev.nexuspowered.util.Log;
+
+/**
+ * A {@link ServerThreadLock} which is granted within a shared main thread window.
+ *
+ * <p>All requests made before a window opens are granted in that window, one after another,
+ * so the main thread is only synchronized with once per tick no matter how many threads are
+ * waiting. Each grant is bounded by a maximum hold time, after which the main thread is
+ * released and the holder's stack is logged.</p>
+ */
+final class BatchedServerThreadLock implements ServerThreadLock {
+
+    private static final int WAITING   = 0;
+    private static final int HELD      = 1;
+    private static final int ABANDONED = 2;
+    private static final int RELEASED  = 3;
+    private static final int REVOKED   = 4;
+
+    // requests waiting for the next window
+    private static final Queue<BatchedServerThreadLock> PENDING          = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger                  PENDING_COUNT    = new AtomicInteger(0);
+    private static final AtomicBoolean                  WINDOW_SCHEDULED = new AtomicBoolean(false);
+
+    // the lock held by the current thread, used to detect nested acquisitions
+    private static final ThreadLocal<BatchedServerThreadLock> CURRENT = new ThreadLocal<>();
+
+    private static final ServerThreadLock NO_OP = () -> {
+    };
+
+    private final Thread        owner;
+    private final long          timeoutNanos;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    // used to mark when the main thread has been obtained and blocked
+    private final CountDownLatch obtainedSignal = new CountDownLatch(1);
+
+    // used to mark when the lock is closed
+    private final CountDownLatch doneSignal = new CountDownLatch(1);
+
+    private BatchedServerThreadLock(long timeoutNanos) {
+        this.owner = Thread.currentThread();
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    static ServerThreadLock obtain(long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout must be positive: " + timeout);
+        }
+
+        // already sync - nothing to do
+        if (ThreadContext.forCurrentThread() == ThreadContext.SYNC) {
+            return NO_OP;
+        }
+
+        // the main thread is already blocked on behalf of this thread. waiting for it
+        // again would deadlock, so treat this as a re-entrant acquisition.
+        BatchedServerThreadLock current = CURRENT.get();
+        if (current != null && current.state.get() == HELD) {
+            return NO_OP;
+        }
+
+        BatchedServerThreadLock lock = new BatchedServerThreadLock(unit.toNanos(timeout));
+        PENDING_COUNT.incrementAndGet();
+        PENDING.offer(lock);
+        scheduleWindow();
+
+        lock.await();
+        CURRENT.set(lock);
+        return lock;
+    }
+
+    private static void scheduleWindow() {
+        if (WINDOW_SCHEDULED.compareAndSet(false, true)) {
+            NexusExecutors.sync().execute(BatchedServerThreadLock::window, SyncExecutor.Priority.HIGH);
+        }
+    }
+
+    // runs on the main thread
+    private static void window() {
+        WINDOW_SCHEDULED.set(false);
+
+        // only grant the requests made before the window opened, so that
+        // a constant stream of requests can't hold the main thread forever
+        int count = PENDING_COUNT.get();
+        for (int i = 0; i < count; i++) {
+            BatchedServerThreadLock lock = PENDING.poll();
+            if (lock == null) {
+                break;
+            }
+            PENDING_COUNT.decrementAndGet();
+            lock.grant();
+        }
+
+        if (PENDING_COUNT.get() != 0) {
+            scheduleWindow();
+        }
+    }
+
+    // runs on the main thread
+    private void grant() {
+        if (!this.state.compareAndSet(WAITING, HELD)) {
+            // the requester gave up waiting
+            return;
+        }
+
+        // firstly, countdown the obtained latch so the blocked code can start to execute
+        this.obtainedSignal.countDown();
+
+        // then block the main thread & wait for the executed code to run
+        boolean released;
+        try {
+            released = this.doneSignal.await(this.timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            released = false;
+        }
+
+        if (!released && this.state.compareAndSet(HELD, REVOKED)) {
+            IllegalStateException diagnostics = new IllegalStateException(
+                "Stack trace of lock holder '" + this.owner.getName() + "' (state: " + this.owner.getState() + ")");
+            diagnostics.setStackTrace(this.owner.getStackTrace());
+            Log.severe("ServerThreadLock held for longer than "
+                + TimeUnit.NANOSECONDS.toMillis(this.timeoutNanos) + "ms - releasing the main thread", diagnostics);
+        }
+    }
+
+    private void await() {
+        // await sync with the server thread
+        boolean obtained;
+        try {
+            obtained = this.obtainedSignal.await(this.timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            obtained = false;
+        }
+
+        if (!obtained && this.state.compareAndSet(WAITING, ABANDONED)) {
+            throw new IllegalStateException("Timed out waiting for the main thread after "
+                + TimeUnit.NANOSECONDS.toMillis(this.timeoutNanos) + "ms");
+        }
+        // otherwise, the lock was granted just as the wait timed out
+    }
+
+    @Override
+    public boolean isRevoked() {
+        return this.state.get() == REVOKED;
+    }
+
+    @Override
+    public void close() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+        // mark that the work has been completed, and unblock the main thread
+        this.state.compareAndSet(HELD, RELEASED);
+        this.doneSignal.countDown();
+    }
+}
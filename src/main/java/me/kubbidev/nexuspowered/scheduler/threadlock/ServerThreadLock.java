@@ -1,6 +1,8 @@
 package me.kubbidev.nexuspowered.scheduler.threadlock;
 
+import java.util.concurrent.TimeUnit;
 import me.kubbidev.nexuspowered.terminable.Terminable;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * A tool to synchronize code with the main server thread
@@ -22,6 +24,39 @@ public interface ServerThreadLock extends Terminable {
         return new ServerThreadLockImpl();
     }
 
+    /**
+     * Blocks the current thread until a {@link ServerThreadLock} can be obtained, for at most the given timeout.
+     *
+     * <p>Unlike {@link #obtain()}, requests from all threads are batched into a single window on the
+     * main thread each tick, and granted one after another.</p>
+     *
+     * <p>The timeout applies both to the wait for the lock, and to how long it may be held. If the
+     * lock is held for longer, the main thread is released, the stack of the holding thread is logged
+     * and the lock is {@link #isRevoked() revoked}.</p>
+     *
+     * <p>Will return immediately if the calling thread is the main thread, or already holds a lock
+     * obtained through this method - waiting for the main thread again would deadlock.</p>
+     *
+     * @param timeout the timeout
+     * @param unit    the unit of the timeout
+     * @return a lock
+     * @throws IllegalStateException if the lock could not be obtained within the timeout
+     */
+    static ServerThreadLock obtain(long timeout, @NotNull TimeUnit unit) {
+        return BatchedServerThreadLock.obtain(timeout, unit);
+    }
+
+    /**
+     * Gets if the main thread stopped waiting for this lock to be closed, because it was held for too long.
+     *
+     * <p>Code running under a revoked lock is no longer synchronized with the main thread.</p>
+     *
+     * @return true if the lock was revoked
+     */
+    default boolean isRevoked() {
+        return false;
+    }
+
     /**
      * Closes the lock, and allows the main thread to continue
      */
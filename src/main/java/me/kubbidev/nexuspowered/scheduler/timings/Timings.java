@@ -0,0 +1,183 @@
+package me.kubbidev.nexuspowered.scheduler.timings;
+
+import com.google.gson.JsonElement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import me.kubbidev.nexuspowered.gson.GsonBuilder;
+import me.kubbidev.nexuspowered.interfaces.Delegate;
+import me.kubbidev.nexuspowered.internal.properties.NexusProperties;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An opt-in registry of execution timings for scheduled tasks and promise stages.
+ *
+ * <p>When enabled, every task run by the NexusPowered executors and repeating tasks
+ * records its duration and queue delay (the time between being scheduled and starting),
+ * both against the task and against the plugin which owns it.</p>
+ *
+ * <p>Tasks are identified by the class of the user supplied object, resolved through
+ * any {@link Delegate} wrappers. When disabled, the only cost is a volatile read.</p>
+ */
+public final class Timings {
+
+    private static final String UNKNOWN_PLUGIN = "unknown";
+
+    private static final ClassValue<Owner> OWNERS = new ClassValue<>() {
+        @Override
+        protected Owner computeValue(@NotNull Class<?> type) {
+            return new Owner(type.getName(), pluginName(type));
+        }
+    };
+
+    private static final Map<String, TimingsEntry> TASKS   = new ConcurrentHashMap<>();
+    private static final Map<String, TimingsEntry> PLUGINS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = Boolean.TRUE.equals(NexusProperties.TIMINGS.value());
+
+    private Timings() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Gets if timings are being recorded.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables the recording of timings.
+     *
+     * @param enabled if timings should be recorded
+     */
+    public static void setEnabled(boolean enabled) {
+        Timings.enabled = enabled;
+    }
+
+    /**
+     * Clears all recorded timings.
+     */
+    public static void reset() {
+        TASKS.clear();
+        PLUGINS.clear();
+    }
+
+    /**
+     * Gets the timings recorded for each task.
+     *
+     * @return the task timings
+     */
+    public static @NotNull Collection<TimingsEntry> getTasks() {
+        return Collections.unmodifiableCollection(TASKS.values());
+    }
+
+    /**
+     * Gets the timings recorded for each plugin.
+     *
+     * @return the plugin timings
+     */
+    public static @NotNull Collection<TimingsEntry> getPlugins() {
+        return Collections.unmodifiableCollection(PLUGINS.values());
+    }
+
+    /**
+     * Gets the timings recorded for the given task.
+     *
+     * @param task the task, or an object delegating to it
+     * @return the timings, if any have been recorded
+     */
+    public static @Nullable TimingsEntry getTask(@NotNull Object task) {
+        return TASKS.get(OWNERS.get(Delegate.resolve(task).getClass()).task);
+    }
+
+    /**
+     * Exports all recorded timings, ordered by total run time.
+     *
+     * @return a json form of the timings
+     */
+    public static @NotNull JsonElement export() {
+        Comparator<TimingsEntry> order = Comparator.comparingLong(TimingsEntry::getTotalNanos).reversed();
+        return GsonBuilder.object()
+            .add("plugins", PLUGINS.values().stream().sorted(order).map(TimingsEntry::serialize)
+                .collect(GsonBuilder.collectToArray()))
+            .add("tasks", TASKS.values().stream().sorted(order).map(TimingsEntry::serialize)
+                .collect(GsonBuilder.collectToArray()))
+            .build();
+    }
+
+    /**
+     * Wraps the runnable so that its queue delay and duration are recorded.
+     *
+     * <p>The queue delay is measured from the time this method is called. Returns
+     * the runnable unchanged if timings are disabled.</p>
+     *
+     * @param runnable the runnable
+     * @return the timed runnable
+     */
+    public static @NotNull Runnable wrap(@NotNull Runnable runnable) {
+        if (!enabled) {
+            return runnable;
+        }
+        return new TimedRunnable(runnable, System.nanoTime());
+    }
+
+    /**
+     * Gets the current time, for use with {@link #record(Object, long, long)}.
+     *
+     * @return the value of {@link System#nanoTime()}, or 0 if timings are disabled
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a run of the given task which has just finished.
+     *
+     * @param task      the task, or an object delegating to it
+     * @param queuedAt  the time the task was scheduled, or -1 if unknown
+     * @param startedAt the time the task started, as returned by {@link #start()}
+     */
+    public static void record(@NotNull Object task, long queuedAt, long startedAt) {
+        if (startedAt == 0L) {
+            return;
+        }
+        long runNanos = System.nanoTime() - startedAt;
+        long delayNanos = queuedAt == -1 ? -1 : startedAt - queuedAt;
+
+        Owner owner = OWNERS.get(Delegate.resolve(task).getClass());
+        TASKS.computeIfAbsent(owner.task, TimingsEntry::new).record(delayNanos, runNanos);
+        PLUGINS.computeIfAbsent(owner.plugin, TimingsEntry::new).record(delayNanos, runNanos);
+    }
+
+    private static String pluginName(Class<?> type) {
+        try {
+            return JavaPlugin.getProvidingPlugin(type).getName();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return UNKNOWN_PLUGIN;
+        }
+    }
+
+    private record Owner(String task, String plugin) {
+
+    }
+
+    private record TimedRunnable(Runnable delegate, long queuedAt) implements Runnable, Delegate<Runnable> {
+
+        @Override
+        public void run() {
+            long startedAt = start();
+            try {
+                this.delegate.run();
+            } finally {
+                record(this.delegate, this.queuedAt, startedAt);
+            }
+        }
+    }
+}
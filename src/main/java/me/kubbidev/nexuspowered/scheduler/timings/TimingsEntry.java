@@ -0,0 +1,185 @@
+package me.kubbidev.nexuspowered.scheduler.timings;
+
+import com.google.gson.JsonElement;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import me.kubbidev.nexuspowered.gson.GsonBuilder;
+import me.kubbidev.nexuspowered.gson.GsonSerializable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Accumulated timings for a task, or for all tasks belonging to a plugin.
+ *
+ * <p>Durations are recorded into a histogram of power-of-two buckets, so percentiles
+ * are approximate - each is reported as the upper bound of the bucket it falls in.</p>
+ */
+public final class TimingsEntry implements GsonSerializable {
+
+    private final String name;
+
+    private final LongAdder runs = new LongAdder();
+
+    private final LongAdder       totalNanos   = new LongAdder();
+    private final AtomicLong      maxNanos     = new AtomicLong();
+    private final AtomicLongArray runHistogram = new AtomicLongArray(Long.SIZE);
+
+    private final LongAdder       totalDelayNanos = new LongAdder();
+    private final AtomicLong      maxDelayNanos   = new AtomicLong();
+    private final AtomicLongArray delayHistogram  = new AtomicLongArray(Long.SIZE);
+
+    TimingsEntry(String name) {
+        this.name = name;
+    }
+
+    void record(long delayNanos, long runNanos) {
+        this.runs.increment();
+
+        this.totalNanos.add(runNanos);
+        accumulateMax(this.maxNanos, runNanos);
+        this.runHistogram.incrementAndGet(bucket(runNanos));
+
+        if (delayNanos >= 0) {
+            this.totalDelayNanos.add(delayNanos);
+            accumulateMax(this.maxDelayNanos, delayNanos);
+            this.delayHistogram.incrementAndGet(bucket(delayNanos));
+        }
+    }
+
+    private static void accumulateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get())) {
+            if (max.compareAndSet(current, value)) {
+                return;
+            }
+        }
+    }
+
+    private static int bucket(long nanos) {
+        // bucket i holds values in [2^(i - 1), 2^i)
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0)), Long.SIZE - 1);
+    }
+
+    private static long percentile(AtomicLongArray histogram, double percentile) {
+        long count = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            count += histogram.get(i);
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long threshold = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= threshold) {
+                return i == 0 ? 0 : 1L << i;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the name of the task or plugin these timings belong to.
+     *
+     * @return the name
+     */
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the number of recorded runs.
+     *
+     * @return the run count
+     */
+    public long getRuns() {
+        return this.runs.sum();
+    }
+
+    /**
+     * Gets the total time spent running.
+     *
+     * @return the total duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        return this.totalNanos.sum();
+    }
+
+    /**
+     * Gets the longest recorded run.
+     *
+     * @return the maximum duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return this.maxNanos.get();
+    }
+
+    /**
+     * Gets the approximate duration below which the given fraction of runs completed.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the duration in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        return percentile(this.runHistogram, percentile);
+    }
+
+    /**
+     * Gets the total time tasks spent waiting between being scheduled and starting.
+     *
+     * @return the total queue delay in nanoseconds
+     */
+    public long getTotalDelayNanos() {
+        return this.totalDelayNanos.sum();
+    }
+
+    /**
+     * Gets the longest time a task spent waiting between being scheduled and starting.
+     *
+     * @return the maximum queue delay in nanoseconds
+     */
+    public long getMaxDelayNanos() {
+        return this.maxDelayNanos.get();
+    }
+
+    /**
+     * Gets the approximate queue delay below which the given fraction of runs started.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the queue delay in nanoseconds
+     */
+    public long getDelayPercentileNanos(double percentile) {
+        return percentile(this.delayHistogram, percentile);
+    }
+
+    private static double toMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public @NotNull JsonElement serialize() {
+        long runs = getRuns();
+        return GsonBuilder.object()
+            .add("name", this.name)
+            .add("runs", runs)
+            .add("run", GsonBuilder.object()
+                .add("totalMs", toMillis(getTotalNanos()))
+                .add("meanMs", runs == 0 ? 0 : toMillis(getTotalNanos() / runs))
+                .add("maxMs", toMillis(getMaxNanos()))
+                .add("p50Ms", toMillis(getPercentileNanos(0.50)))
+                .add("p95Ms", toMillis(getPercentileNanos(0.95)))
+                .add("p99Ms", toMillis(getPercentileNanos(0.99)))
+                .build())
+            .add("delay", GsonBuilder.object()
+                .add("totalMs", toMillis(getTotalDelayNanos()))
+                .add("maxMs", toMillis(getMaxDelayNanos()))
+                .add("p50Ms", toMillis(getDelayPercentileNanos(0.50)))
+                .add("p95Ms", toMillis(getDelayPercentileNanos(0.95)))
+                .add("p99Ms", toMillis(getDelayPercentileNanos(0.99)))
+                .build())
+            .build();
+    }
+}
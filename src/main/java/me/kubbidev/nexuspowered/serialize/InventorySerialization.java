@@ -1,5 +1,6 @@
 package me.kubbidev.nexuspowered.serialize;
 
+import java.nio.ByteBuffer;
 import org.bukkit.inventory.ItemStack;
 
 public final class InventorySerialization {
@@ -39,4 +40,28 @@ public final class InventorySerialization {
     public static ItemStack[] decodeItemStacks(String data) {
         return decodeItemStacks(Base64Util.decode(data));
     }
+
+    /**
+     * Decodes the remaining bytes in the buffer, for example a view handed out by
+     * {@link me.kubbidev.nexuspowered.cache.OffHeapByteCache#read(Object, java.util.function.Function)}.
+     *
+     * <p>The decoder only accepts arrays, so buffers which aren't backed by an accessible array (such as direct
+     * buffers) are copied first.</p>
+     *
+     * @param buf the buffer
+     * @return the decoded items
+     */
+    public static ItemStack[] decodeItemStacks(ByteBuffer buf) {
+        return decodeItemStacks(toArray(buf));
+    }
+
+    private static byte[] toArray(ByteBuffer buf) {
+        if (buf.hasArray() && buf.arrayOffset() == 0 && buf.position() == 0
+            && buf.remaining() == buf.array().length) {
+            return buf.array();
+        }
+        byte[] bytes = new byte[buf.remaining()];
+        buf.get(buf.position(), bytes);
+        return bytes;
+    }
 }
\ No newline at end of file
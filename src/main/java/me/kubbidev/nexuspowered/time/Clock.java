@@ -0,0 +1,52 @@
+package me.kubbidev.nexuspowered.time;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A source of the current time.
+ *
+ * <p>NexusPowered reads the time from {@link Time#clock()}, or for cooldowns, transient metadata values and caches,
+ * from {@link Time#tickClock()}. Both can be replaced with {@link Time#setClock(Clock)}, for example with a
+ * {@link FakeClock} in tests.</p>
+ */
+public interface Clock {
+
+    /**
+     * Gets a clock which reads the system time on every call.
+     *
+     * @return the system clock
+     */
+    @NotNull
+    static Clock system() {
+        return SystemClock.INSTANCE;
+    }
+
+    /**
+     * Gets a clock which reads the system time once per server tick.
+     *
+     * <p>Until the clock is {@link TickClock#start(org.bukkit.plugin.Plugin) started}, it reads the system time on
+     * every call.</p>
+     *
+     * @return the tick clock
+     */
+    @NotNull
+    static TickClock tick() {
+        return TickClock.INSTANCE;
+    }
+
+    /**
+     * Gets the current unix time in milliseconds.
+     *
+     * @return the current unix time
+     */
+    long millis();
+
+    /**
+     * Gets the value of a monotonic timer in nanoseconds, as with {@link System#nanoTime()}.
+     *
+     * <p>Only the difference between two values is meaningful.</p>
+     *
+     * @return the current value of the timer
+     */
+    long nanos();
+}
@@ -0,0 +1,73 @@
+package me.kubbidev.nexuspowered.time;
+
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A clock which only moves when it is told to, for deterministic tests.
+ *
+ * <pre>{@code
+ * FakeClock clock = FakeClock.create();
+ * Time.setClock(clock);
+ * Cooldown cooldown = Cooldown.of(5, TimeUnit.SECONDS);
+ * cooldown.test();
+ * clock.advance(6, TimeUnit.SECONDS);
+ * assert cooldown.test();
+ * }</pre>
+ */
+public final class FakeClock implements Clock {
+
+    private final long       startMillis;
+    // time elapsed since creation
+    private final AtomicLong nanos = new AtomicLong(0);
+
+    private FakeClock(long startMillis) {
+        this.startMillis = startMillis;
+    }
+
+    /**
+     * Creates a fake clock, starting at the current system time.
+     *
+     * @return a new fake clock
+     */
+    public static FakeClock create() {
+        return new FakeClock(System.currentTimeMillis());
+    }
+
+    /**
+     * Creates a fake clock, starting at the given unix time.
+     *
+     * @param startMillis the unix time in milliseconds
+     * @return a new fake clock
+     */
+    public static FakeClock startingAt(long startMillis) {
+        return new FakeClock(startMillis);
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param duration the amount to move forward by
+     * @param unit     the unit of the duration
+     * @return this clock
+     */
+    public FakeClock advance(long duration, @NotNull TimeUnit unit) {
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(duration >= 0, "duration must be >= 0");
+        this.nanos.addAndGet(unit.toNanos(duration));
+        return this;
+    }
+
+    @Override
+    public long millis() {
+        return this.startMillis + TimeUnit.NANOSECONDS.toMillis(this.nanos.get());
+    }
+
+    @Override
+    public long nanos() {
+        return this.nanos.get();
+    }
+}
@@ -0,0 +1,87 @@
+package me.kubbidev.nexuspowered.time;
+
+import java.util.Objects;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A clock which reads the system time once per server tick, at the start of the tick.
+ *
+ * <p>Reads are a single volatile load, which makes this clock suitable for code which checks the time many times
+ * per tick, such as cooldowns. Values may be up to a tick (or the length of a lagging tick) behind the system
+ * time.</p>
+ *
+ * <p>The clock is started by the plugin providing NexusPowered. While it isn't running, it reads the system time on
+ * every call.</p>
+ */
+public final class TickClock implements Clock, Runnable {
+
+    static final TickClock INSTANCE = new TickClock();
+
+    // only written by the main thread
+    private volatile long    millis  = 0;
+    private volatile long    nanos   = 0;
+    private volatile boolean running = false;
+
+    private BukkitTask task;
+
+    private TickClock() {
+    }
+
+    /**
+     * Starts updating the clock once per tick.
+     *
+     * @param plugin the plugin to schedule the update task with
+     */
+    public synchronized void start(@NotNull Plugin plugin) {
+        Objects.requireNonNull(plugin, "plugin");
+        if (this.task != null) {
+            return;
+        }
+        run();
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this, 0L, 1L);
+        this.running = true;
+    }
+
+    /**
+     * Starts the clock without scheduling the update task, so it is only updated by calls to {@link #run()}. Lets the
+     * clock be used outside of a server, for example in benchmarks.
+     */
+    synchronized void startUnscheduled() {
+        run();
+        this.running = true;
+    }
+
+    /**
+     * Stops updating the clock. Until it is started again, the system time is read on every call.
+     */
+    public synchronized void stop() {
+        this.running = false;
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    @Override
+    public void run() {
+        this.millis = System.currentTimeMillis();
+        this.nanos = System.nanoTime();
+    }
+
+    @Override
+    public long millis() {
+        return this.running ? this.millis : System.currentTimeMillis();
+    }
+
+    @Override
+    public long nanos() {
+        return this.running ? this.nanos : System.nanoTime();
+    }
+}
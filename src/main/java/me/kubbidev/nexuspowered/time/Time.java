@@ -10,17 +10,96 @@ import java.util.concurrent.TimeUnit;
  */
 public final class Time {
 
+    private static volatile Clock clock     = Clock.system();
+    private static volatile Clock tickClock = Clock.tick();
+
     private Time() {
         throw new UnsupportedOperationException("This class cannot be instantiated");
     }
 
     /**
-     * Gets the current unix time in milliseconds.
+     * Gets the clock used by NexusPowered to read the current time.
+     *
+     * <p>By default, this is the {@link Clock#system() system clock}.</p>
+     *
+     * @return the clock
+     */
+    public static Clock clock() {
+        return clock;
+    }
+
+    /**
+     * Gets the clock used by NexusPowered where the time is read many times per tick, and may be a tick stale -
+     * cooldowns, transient metadata values and caches.
+     *
+     * <p>By default, this is the {@link Clock#tick() tick clock}.</p>
+     *
+     * @return the tick clock
+     */
+    public static Clock tickClock() {
+        return tickClock;
+    }
+
+    /**
+     * Replaces both clocks used by NexusPowered to read the current time.
+     *
+     * @param clock the new clock
+     */
+    public static void setClock(Clock clock) {
+        Objects.requireNonNull(clock, "clock");
+        Time.clock = clock;
+        Time.tickClock = clock;
+    }
+
+    /**
+     * Restores the default clocks.
+     */
+    public static void resetClock() {
+        clock = Clock.system();
+        tickClock = Clock.tick();
+    }
+
+    /**
+     * Gets the current unix time in milliseconds, according to the {@link #clock() clock}.
      *
      * @return the current unix time
      */
     public static long nowMillis() {
-        return System.currentTimeMillis();
+        return clock.millis();
+    }
+
+    /**
+     * Gets the value of a monotonic timer in nanoseconds, according to the {@link #clock() clock}.
+     *
+     * @return the current value of the timer
+     * @see Clock#nanos()
+     */
+    public static long nanoTime() {
+        return clock.nanos();
+    }
+
+    /**
+     * Gets the current unix time in milliseconds, according to the {@link #tickClock() tick clock}.
+     *
+     * <p>With the default clock, this is read once per tick, so may be up to a tick behind
+     * {@link #nowMillis()}.</p>
+     *
+     * @return the current unix time
+     */
+    public static long tickMillis() {
+        return tickClock.millis();
+    }
+
+    /**
+     * Gets the value of a monotonic timer in nanoseconds, according to the {@link #tickClock() tick clock}.
+     *
+     * <p>With the default clock, this is read once per tick, so may be up to a tick behind
+     * {@link #nanoTime()}.</p>
+     *
+     * @return the current value of the timer
+     */
+    public static long tickNanos() {
+        return tickClock.nanos();
     }
 
     /**
@@ -38,7 +117,7 @@ public final class Time {
      * @return the current unix time
      */
     public static Instant now() {
-        return Instant.ofEpochMilli(System.currentTimeMillis());
+        return Instant.ofEpochMilli(nowMillis());
     }
 
     /**
@@ -0,0 +1,206 @@
+package me.kubbidev.nexuspowered.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A set which forgets its elements some time after they were last added.
+ *
+ * <p>Unlike {@link ExpiringSet#newExpiringSet(long, TimeUnit)}, elements are not timestamped individually. Instead,
+ * they are grouped into a ring of buckets, one per interval, and a whole bucket is dropped at once when it
+ * expires. Each bucket is an open-addressed hash table, so an element costs a single array slot. Elements are
+ * kept for at least the duration, and at most {@code duration / precision} longer.</p>
+ *
+ * <p>This set is thread safe.</p>
+ *
+ * @param <E> the element type
+ * @see UuidExpiringSet
+ */
+public final class BucketedExpiringSet<E> extends ExpiringBucketRing {
+
+    /**
+     * The default number of intervals the duration is split into
+     */
+    public static final int DEFAULT_PRECISION = 4;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Object[][] buckets;
+    private final int[]      sizes;
+
+    private BucketedExpiringSet(long duration, TimeUnit unit, int precision) {
+        super(duration, unit, precision);
+        this.buckets = new Object[this.bucketCount][];
+        this.sizes = new int[this.bucketCount];
+        for (int i = 0; i < this.bucketCount; i++) {
+            this.buckets[i] = new Object[INITIAL_CAPACITY];
+        }
+    }
+
+    public static <E> BucketedExpiringSet<E> create(long duration, TimeUnit unit) {
+        return new BucketedExpiringSet<>(duration, unit, DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a set whose elements expire after the given duration.
+     *
+     * @param duration  the duration
+     * @param unit      the unit of the duration
+     * @param precision the number of intervals to split the duration into. Higher values make expiry more precise,
+     *                  but make lookups slower.
+     * @param <E>       the element type
+     * @return a new set
+     */
+    public static <E> BucketedExpiringSet<E> create(long duration, TimeUnit unit, int precision) {
+        return new BucketedExpiringSet<>(duration, unit, precision);
+    }
+
+    /**
+     * Adds an element, or resets its expiry if it is already present.
+     *
+     * @param element the element
+     * @return true if the element was not already present
+     */
+    public synchronized boolean add(@NotNull E element) {
+        Objects.requireNonNull(element, "element");
+        int hash = spread(element.hashCode());
+        int current = advance();
+
+        boolean present = false;
+        for (int i = 0; i < this.bucketCount; i++) {
+            if (i != current && find(this.buckets[i], element, hash) >= 0) {
+                present = true;
+                break;
+            }
+        }
+        if (find(this.buckets[current], element, hash) >= 0) {
+            return false;
+        }
+        insert(current, element, hash);
+        return !present;
+    }
+
+    public synchronized boolean contains(@NotNull Object element) {
+        int hash = spread(element.hashCode());
+        advance();
+        for (Object[] bucket : this.buckets) {
+            if (find(bucket, element, hash) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes an element.
+     *
+     * @param element the element
+     * @return true if the element was present
+     */
+    public synchronized boolean remove(@NotNull Object element) {
+        int hash = spread(element.hashCode());
+        advance();
+        boolean removed = false;
+        for (int i = 0; i < this.bucketCount; i++) {
+            int slot = find(this.buckets[i], element, hash);
+            if (slot >= 0) {
+                delete(i, slot);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < this.bucketCount; i++) {
+            clearBucket(i);
+        }
+    }
+
+    @Override
+    protected void clearBucket(int index) {
+        // don't hold on to the capacity needed by a burst long after it has passed
+        if (this.buckets[index].length > INITIAL_CAPACITY && this.sizes[index] < this.buckets[index].length / 8) {
+            this.buckets[index] = new Object[INITIAL_CAPACITY];
+        } else {
+            Arrays.fill(this.buckets[index], null);
+        }
+        this.sizes[index] = 0;
+    }
+
+    private static int find(Object[] table, Object element, int hash) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (true) {
+            Object e = table[i];
+            if (e == null) {
+                return -1;
+            }
+            if (e == element || e.equals(element)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void insert(int index, Object element, int hash) {
+        Object[] table = this.buckets[index];
+        if (this.sizes[index] + 1 > table.length * 3 / 4) {
+            table = resize(table);
+            this.buckets[index] = table;
+        }
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != null) {
+            i = (i + 1) & mask;
+        }
+        table[i] = element;
+        this.sizes[index]++;
+    }
+
+    private static Object[] resize(Object[] table) {
+        Object[] resized = new Object[table.length << 1];
+        int mask = resized.length - 1;
+        for (Object e : table) {
+            if (e == null) {
+                continue;
+            }
+            int i = spread(e.hashCode()) & mask;
+            while (resized[i] != null) {
+                i = (i + 1) & mask;
+            }
+            resized[i] = e;
+        }
+        return resized;
+    }
+
+    private void delete(int index, int slot) {
+        Object[] table = this.buckets[index];
+        int mask = table.length - 1;
+        int i = slot;
+        int j = slot;
+        while (true) {
+            j = (j + 1) & mask;
+            Object e = table[j];
+            if (e == null) {
+                break;
+            }
+            // move the element back into the gap, unless its ideal slot lies in (i, j]
+            int ideal = spread(e.hashCode()) & mask;
+            boolean reachable = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+            if (!reachable) {
+                table[i] = e;
+                i = j;
+            }
+        }
+        table[i] = null;
+        this.sizes[index]--;
+    }
+
+    private static int spread(int hashCode) {
+        int h = hashCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
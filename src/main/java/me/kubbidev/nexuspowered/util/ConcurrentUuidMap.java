@@ -0,0 +1,349 @@
+package me.kubbidev.nexuspowered.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A thread safe {@link UuidHashMap}.
+ *
+ * <p>Keys are split between a fixed number of stripes, each a {@link UuidHashMap} guarded by a
+ * {@link StampedLock}. Lookups use optimistic reads, so they don't write to shared memory unless they race with a
+ * write to the same stripe.</p>
+ *
+ * <p>{@link #computeIfAbsent(UUID, Function)} is atomic, and holds the stripe's lock while the mapping function
+ * runs, so the function must not access this map. Iteration and {@link #forEach(BiConsumer)} work on a snapshot
+ * of each stripe, taken as they reach it.</p>
+ *
+ * <p>Null values are not permitted.</p>
+ *
+ * @param <V> the value type
+ */
+public final class ConcurrentUuidMap<V> extends AbstractMap<UUID, V> implements ConcurrentMap<UUID, V> {
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final Stripe<V>[] stripes;
+    private final int         shift;
+
+    private EntrySet entrySet;
+
+    @SuppressWarnings("unchecked")
+    private ConcurrentUuidMap(int concurrencyLevel) {
+        int count = 1;
+        while (count < concurrencyLevel && count < MAX_STRIPES) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe<>();
+        }
+        this.shift = 64 - Integer.numberOfTrailingZeros(count);
+    }
+
+    public static <V> ConcurrentUuidMap<V> create() {
+        return new ConcurrentUuidMap<>(16);
+    }
+
+    public static <V> ConcurrentUuidMap<V> create(int concurrencyLevel) {
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be > 0: " + concurrencyLevel);
+        }
+        return new ConcurrentUuidMap<>(concurrencyLevel);
+    }
+
+    /**
+     * Gets the value mapped to the uuid with the given bits.
+     *
+     * @param msb the most significant bits of the uuid
+     * @param lsb the least significant bits of the uuid
+     * @return the value, or null
+     */
+    public @Nullable V get(long msb, long lsb) {
+        Stripe<V> stripe = stripeFor(msb, lsb);
+
+        long stamp = stripe.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            V value = stripe.map.get(msb, lsb);
+            if (stripe.lock.validate(stamp)) {
+                return value;
+            }
+        }
+
+        stamp = stripe.lock.readLock();
+        try {
+            return stripe.map.get(msb, lsb);
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable V get(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public @Nullable V put(@NotNull UUID key, @NotNull V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        Stripe<V> stripe = stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.put(key, value);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable V putIfAbsent(@NotNull UUID key, @NotNull V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        Stripe<V> stripe = stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            V existing = stripe.map.get(key);
+            if (existing == null) {
+                stripe.map.put(key, value);
+            }
+            return existing;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(@NotNull UUID key, @NotNull Function<? super UUID, ? extends V> mappingFunction) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(mappingFunction, "mappingFunction");
+
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+
+        Stripe<V> stripe = stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.computeIfAbsent(key, mappingFunction);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable V remove(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        Stripe<V> stripe = stripeFor(uuid);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.remove(uuid);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        if (!(key instanceof UUID uuid) || value == null) {
+            return false;
+        }
+        Stripe<V> stripe = stripeFor(uuid);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (!value.equals(stripe.map.get(uuid))) {
+                return false;
+            }
+            stripe.map.remove(uuid);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean replace(@NotNull UUID key, @NotNull V oldValue, @NotNull V newValue) {
+        Objects.requireNonNull(newValue, "newValue");
+        Stripe<V> stripe = stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            if (!oldValue.equals(stripe.map.get(key))) {
+                return false;
+            }
+            stripe.map.put(key, newValue);
+            return true;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable V replace(@NotNull UUID key, @NotNull V value) {
+        Objects.requireNonNull(value, "value");
+        Stripe<V> stripe = stripeFor(key);
+        long stamp = stripe.lock.writeLock();
+        try {
+            return stripe.map.containsKey(key) ? stripe.map.put(key, value) : null;
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe<V> stripe : this.stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.map.size();
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe<V> stripe : this.stripes) {
+            long stamp = stripe.lock.writeLock();
+            try {
+                stripe.map.clear();
+            } finally {
+                stripe.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super UUID, ? super V> action) {
+        Objects.requireNonNull(action, "action");
+        for (Stripe<V> stripe : this.stripes) {
+            for (Entry<UUID, V> e : snapshot(stripe)) {
+                action.accept(e.getKey(), e.getValue());
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<UUID, V>> entrySet() {
+        EntrySet entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = this.entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private Stripe<V> stripeFor(UUID uuid) {
+        return stripeFor(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    private Stripe<V> stripeFor(long msb, long lsb) {
+        if (this.stripes.length == 1) {
+            return this.stripes[0];
+        }
+        // use the high bits, so the stripe doesn't correlate with the slot within the stripe's table
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return this.stripes[(int) (h >>> this.shift)];
+    }
+
+    private List<Entry<UUID, V>> snapshot(Stripe<V> stripe) {
+        long stamp = stripe.lock.readLock();
+        try {
+            List<Entry<UUID, V>> entries = new ArrayList<>(stripe.map.size());
+            stripe.map.forEach((key, value) -> entries.add(new SimpleImmutableEntry<>(key, value)));
+            return entries;
+        } finally {
+            stripe.lock.unlockRead(stamp);
+        }
+    }
+
+    private static final class Stripe<V> {
+
+        private final StampedLock    lock = new StampedLock();
+        private final UuidHashMap<V> map  = new UuidHashMap<>();
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<UUID, V>> {
+
+        @Override
+        public @NotNull Iterator<Entry<UUID, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return ConcurrentUuidMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            ConcurrentUuidMap.this.clear();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<UUID, V>> {
+
+        private int                      stripe  = 0;
+        private Iterator<Entry<UUID, V>> current = null;
+        private Entry<UUID, V>           last    = null;
+
+        @Override
+        public boolean hasNext() {
+            while (this.current == null || !this.current.hasNext()) {
+                if (this.stripe == ConcurrentUuidMap.this.stripes.length) {
+                    return false;
+                }
+                this.current = snapshot(ConcurrentUuidMap.this.stripes[this.stripe++]).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public Entry<UUID, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.last = this.current.next();
+            return this.last;
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException();
+            }
+            // only remove the mapping if it hasn't been replaced since the snapshot
+            ConcurrentUuidMap.this.remove(this.last.getKey(), this.last.getValue());
+            this.last = null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package me.kubbidev.nexuspowered.util;
+
+import com.google.common.base.Preconditions;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import me.kubbidev.nexuspowered.time.Time;
+
+/**
+ * The rotation logic shared by {@link BucketedExpiringSet} and {@link UuidExpiringSet}.
+ *
+ * <p>Time is divided into intervals of {@code duration / precision}, and the ring holds one bucket per interval,
+ * plus one for the interval in progress. Elements are added to the current bucket, and a bucket is cleared once
+ * the ring comes back round to it, so elements are kept for at least the duration, and at most one interval
+ * longer.</p>
+ *
+ * <p>Not thread safe - subclasses synchronize around calls to {@link #advance()}.</p>
+ */
+abstract class ExpiringBucketRing {
+
+    protected final int  bucketCount;
+    private   final long intervalNanos;
+    // the interval the current bucket belongs to
+    private         long epoch;
+
+    ExpiringBucketRing(long duration, TimeUnit unit, int precision) {
+        Objects.requireNonNull(unit, "unit");
+        Preconditions.checkArgument(duration > 0, "duration must be > 0");
+        Preconditions.checkArgument(precision > 0, "precision must be > 0");
+
+        long durationNanos = unit.toNanos(duration);
+        this.intervalNanos = Math.max(1, (durationNanos + precision - 1) / precision);
+        this.bucketCount = precision + 1;
+        this.epoch = Math.floorDiv(Time.tickNanos(), this.intervalNanos);
+    }
+
+    /**
+     * Moves the ring forward to the current time, clearing the buckets which have expired.
+     *
+     * @return the index of the current bucket
+     */
+    protected final int advance() {
+        long now = Math.floorDiv(Time.tickNanos(), this.intervalNanos);
+        long elapsed = now - this.epoch;
+        if (elapsed > 0) {
+            long expired = Math.min(elapsed, this.bucketCount);
+            for (long i = 1; i <= expired; i++) {
+                clearBucket(index(this.epoch + i));
+            }
+            this.epoch = now;
+        }
+        return index(this.epoch);
+    }
+
+    private int index(long epoch) {
+        return (int) Math.floorMod(epoch, (long) this.bucketCount);
+    }
+
+    protected abstract void clearBucket(int index);
+}
@@ -8,6 +8,9 @@ import java.util.concurrent.TimeUnit;
 /**
  * A simple expiring set implementation using Google caches
  *
+ * <p>For sets which are only used to check whether an element was seen recently, {@link BucketedExpiringSet} and
+ * {@link UuidExpiringSet} are considerably lighter.</p>
+ *
  * @param <E> element type
  */
 public class ExpiringSet<E> {
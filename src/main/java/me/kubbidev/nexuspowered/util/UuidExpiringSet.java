@@ -0,0 +1,171 @@
+package me.kubbidev.nexuspowered.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link BucketedExpiringSet} specialized for {@link UUID}s, for example to deduplicate per-player events.
+ *
+ * <p>Each bucket stores the two halves of each UUID inline in a {@code long[]}, so no references to the UUID
+ * objects are kept, and lookups never call {@link UUID#equals(Object)}.</p>
+ *
+ * <p>This set is thread safe.</p>
+ */
+public final class UuidExpiringSet extends ExpiringBucketRing {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // [msb, lsb] pairs. the nil uuid is the empty slot marker, so it is tracked separately
+    private final long[][]  buckets;
+    private final int[]     sizes;
+    private final boolean[] containsNil;
+
+    private UuidExpiringSet(long duration, TimeUnit unit, int precision) {
+        super(duration, unit, precision);
+        this.buckets = new long[this.bucketCount][];
+        this.sizes = new int[this.bucketCount];
+        this.containsNil = new boolean[this.bucketCount];
+        for (int i = 0; i < this.bucketCount; i++) {
+            this.buckets[i] = new long[INITIAL_CAPACITY * 2];
+        }
+    }
+
+    public static UuidExpiringSet create(long duration, TimeUnit unit) {
+        return new UuidExpiringSet(duration, unit, BucketedExpiringSet.DEFAULT_PRECISION);
+    }
+
+    /**
+     * Creates a set whose elements expire after the given duration.
+     *
+     * @param duration  the duration
+     * @param unit      the unit of the duration
+     * @param precision the number of intervals to split the duration into. Higher values make expiry more precise,
+     *                  but make lookups slower.
+     * @return a new set
+     */
+    public static UuidExpiringSet create(long duration, TimeUnit unit, int precision) {
+        return new UuidExpiringSet(duration, unit, precision);
+    }
+
+    /**
+     * Adds a uuid, or resets its expiry if it is already present.
+     *
+     * @param uuid the uuid
+     * @return true if the uuid was not already present
+     */
+    public synchronized boolean add(@NotNull UUID uuid) {
+        Objects.requireNonNull(uuid, "uuid");
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int current = advance();
+
+        boolean present = false;
+        for (int i = 0; i < this.bucketCount; i++) {
+            if (i != current && contains(i, msb, lsb)) {
+                present = true;
+                break;
+            }
+        }
+        if (contains(current, msb, lsb)) {
+            return false;
+        }
+        insert(current, msb, lsb);
+        return !present;
+    }
+
+    public synchronized boolean contains(@NotNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        advance();
+        for (int i = 0; i < this.bucketCount; i++) {
+            if (contains(i, msb, lsb)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes a uuid.
+     *
+     * @param uuid the uuid
+     * @return true if the uuid was present
+     */
+    public synchronized boolean remove(@NotNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        advance();
+        boolean removed = false;
+        for (int i = 0; i < this.bucketCount; i++) {
+            if (msb == 0 && lsb == 0) {
+                removed |= this.containsNil[i];
+                this.containsNil[i] = false;
+                continue;
+            }
+            int slot = UuidSlots.find(this.buckets[i], null, msb, lsb);
+            if (slot >= 0) {
+                delete(i, slot);
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    public synchronized void clear() {
+        for (int i = 0; i < this.bucketCount; i++) {
+            clearBucket(i);
+        }
+    }
+
+    @Override
+    protected void clearBucket(int index) {
+        // don't hold on to the capacity needed by a burst long after it has passed
+        long[] table = this.buckets[index];
+        if (table.length > INITIAL_CAPACITY * 2 && this.sizes[index] < table.length / 16) {
+            this.buckets[index] = new long[INITIAL_CAPACITY * 2];
+        } else {
+            Arrays.fill(table, 0L);
+        }
+        this.sizes[index] = 0;
+        this.containsNil[index] = false;
+    }
+
+    private boolean contains(int index, long msb, long lsb) {
+        if (msb == 0 && lsb == 0) {
+            return this.containsNil[index];
+        }
+        return UuidSlots.find(this.buckets[index], null, msb, lsb) >= 0;
+    }
+
+    private void insert(int index, long msb, long lsb) {
+        if (msb == 0 && lsb == 0) {
+            this.containsNil[index] = true;
+            return;
+        }
+        long[] table = this.buckets[index];
+        if (this.sizes[index] + 1 > (table.length >>> 1) * 3 / 4) {
+            table = resize(table);
+            this.buckets[index] = table;
+        }
+        UuidSlots.place(table, null, msb, lsb);
+        this.sizes[index]++;
+    }
+
+    private static long[] resize(long[] table) {
+        long[] resized = new long[table.length << 1];
+        for (int i = 0; i < table.length; i += 2) {
+            if (table[i] != 0 || table[i + 1] != 0) {
+                UuidSlots.place(resized, null, table[i], table[i + 1]);
+            }
+        }
+        return resized;
+    }
+
+    private void delete(int index, int slot) {
+        UuidSlots.delete(this.buckets[index], null, slot, null);
+        this.sizes[index]--;
+    }
+}
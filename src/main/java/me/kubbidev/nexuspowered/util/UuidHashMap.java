@@ -0,0 +1,372 @@
+package me.kubbidev.nexuspowered.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link Map} keyed by {@link UUID}, which stores the two halves of each key inline in a {@code long[]}.
+ *
+ * <p>Compared to a {@link java.util.HashMap}, there is no entry object per mapping and no reference to the key
+ * objects is kept, and lookups compare two longs rather than calling {@link UUID#equals(Object)}. Keys are only
+ * created as objects when the map is iterated.</p>
+ *
+ * <p>Null values are not permitted. This map is not thread safe - see {@link ConcurrentUuidMap}.</p>
+ *
+ * @param <V> the value type
+ */
+public final class UuidHashMap<V> extends AbstractMap<UUID, V> {
+
+    private static final int   INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR      = 0.75f;
+
+    // [msb, lsb] pairs - slot i occupies indexes 2i and 2i + 1. a slot is empty if its value is null
+    private long[]   keys;
+    private Object[] values;
+    private int      size     = 0;
+    private int      modCount = 0;
+
+    private EntrySet entrySet;
+
+    public UuidHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public UuidHashMap(int expectedSize) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity * LOAD_FACTOR < expectedSize) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity * 2];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Gets the value mapped to the uuid with the given bits.
+     *
+     * <p>Tolerates being called while another thread modifies the map, as long as the result is discarded in that
+     * case - {@link ConcurrentUuidMap} relies on this for optimistic reads.</p>
+     *
+     * @param msb the most significant bits of the uuid
+     * @param lsb the least significant bits of the uuid
+     * @return the value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(long msb, long lsb) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        if (keys.length != values.length << 1) {
+            // caught mid-resize
+            return null;
+        }
+        int slot = UuidSlots.find(keys, values, msb, lsb);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @Override
+    public @Nullable V get(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        return get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @Nullable V put(@NotNull UUID key, @NotNull V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+
+        int slot = UuidSlots.find(this.keys, this.values, msb, lsb);
+        if (slot >= 0) {
+            V old = (V) this.values[slot];
+            this.values[slot] = value;
+            return old;
+        }
+        insert(msb, lsb, value);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V computeIfAbsent(@NotNull UUID key, @NotNull Function<? super UUID, ? extends V> mappingFunction) {
+        Objects.requireNonNull(key, "key");
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+
+        int slot = UuidSlots.find(this.keys, this.values, msb, lsb);
+        if (slot >= 0) {
+            return (V) this.values[slot];
+        }
+        V value = mappingFunction.apply(key);
+        if (value != null) {
+            insert(msb, lsb, value);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public @Nullable V remove(Object key) {
+        if (!(key instanceof UUID uuid)) {
+            return null;
+        }
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int slot = UuidSlots.find(this.keys, this.values, msb, lsb);
+        if (slot < 0) {
+            return null;
+        }
+        V old = (V) this.values[slot];
+        delete(slot, -1, null);
+        return old;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public void clear() {
+        if (this.values.length > INITIAL_CAPACITY && this.size < this.values.length / 8) {
+            this.keys = new long[INITIAL_CAPACITY * 2];
+            this.values = new Object[INITIAL_CAPACITY];
+        } else {
+            Arrays.fill(this.values, null);
+        }
+        this.size = 0;
+        this.modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(BiConsumer<? super UUID, ? super V> action) {
+        Objects.requireNonNull(action, "action");
+        int modCount = this.modCount;
+        Object[] values = this.values;
+        long[] keys = this.keys;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            if (value != null) {
+                action.accept(new UUID(keys[i << 1], keys[(i << 1) + 1]), (V) value);
+                if (modCount != this.modCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Set<Entry<UUID, V>> entrySet() {
+        EntrySet entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = this.entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private void insert(long msb, long lsb, Object value) {
+        if (this.size + 1 > this.values.length * LOAD_FACTOR) {
+            resize();
+        }
+        int slot = UuidSlots.place(this.keys, this.values, msb, lsb);
+        this.values[slot] = value;
+        this.size++;
+        this.modCount++;
+    }
+
+    private void resize() {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        long[] keys = new long[oldKeys.length << 1];
+        Object[] values = new Object[oldValues.length << 1];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = UuidSlots.place(keys, values, oldKeys[i << 1], oldKeys[(i << 1) + 1]);
+                values[slot] = oldValues[i];
+            }
+        }
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Removes the mapping in the given slot, shifting later entries of its probe sequence back to fill the gap.
+     *
+     * @param slot    the slot to remove
+     * @param visited if removing through an iterator, the lowest slot it has visited, otherwise -1
+     * @param wrapped if removing through an iterator, collects the entries moved from slots it hasn't visited into
+     *                slots it has
+     */
+    private void delete(int slot, int visited, @Nullable List<IteratorEntry> wrapped) {
+        long[] keys = this.keys;
+        Object[] values = this.values;
+        UuidSlots.delete(keys, values, slot, wrapped == null ? null : (from, to) -> {
+            if (from < visited && to >= visited) {
+                wrapped.add(new IteratorEntry(new UUID(keys[from << 1], keys[(from << 1) + 1]), values[from]));
+            }
+        });
+        this.size--;
+        this.modCount++;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<UUID, V>> {
+
+        @Override
+        public @NotNull Iterator<Entry<UUID, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return UuidHashMap.this.size;
+        }
+
+        @Override
+        public void clear() {
+            UuidHashMap.this.clear();
+        }
+    }
+
+    /**
+     * Iterates the slots from last to first. Removing an entry can only move entries which haven't been visited
+     * into visited slots when the shift wraps around the end of the table - those are collected and returned once
+     * the table has been scanned.
+     */
+    private final class EntryIterator implements Iterator<Entry<UUID, V>> {
+
+        private int                 pos              = UuidHashMap.this.values.length;
+        private int                 remaining        = UuidHashMap.this.size;
+        private int                 expectedModCount = UuidHashMap.this.modCount;
+        private List<IteratorEntry> wrapped          = null;
+        private int                 wrappedIndex     = 0;
+        private IteratorEntry       last             = null;
+        private int                 lastSlot         = -1;
+
+        @Override
+        public boolean hasNext() {
+            return this.remaining > 0;
+        }
+
+        @Override
+        public Entry<UUID, V> next() {
+            if (this.expectedModCount != UuidHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            this.remaining--;
+
+            Object[] values = UuidHashMap.this.values;
+            long[] keys = UuidHashMap.this.keys;
+            while (--this.pos >= 0) {
+                Object value = values[this.pos];
+                if (value != null) {
+                    this.lastSlot = this.pos;
+                    this.last = new IteratorEntry(new UUID(keys[this.pos << 1], keys[(this.pos << 1) + 1]), value);
+                    return this.last;
+                }
+            }
+            this.pos = 0;
+            if (this.wrapped == null || this.wrappedIndex >= this.wrapped.size()) {
+                throw new ConcurrentModificationException();
+            }
+            this.lastSlot = -1;
+            this.last = this.wrapped.get(this.wrappedIndex++);
+            return this.last;
+        }
+
+        @Override
+        public void remove() {
+            if (this.last == null) {
+                throw new IllegalStateException();
+            }
+            if (this.expectedModCount != UuidHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.lastSlot >= 0) {
+                if (this.wrapped == null) {
+                    this.wrapped = new ArrayList<>(2);
+                }
+                delete(this.lastSlot, this.pos, this.wrapped);
+            } else {
+                // the table has been fully scanned, so entries can move freely
+                UuidHashMap.this.remove(this.last.getKey());
+            }
+            this.expectedModCount = UuidHashMap.this.modCount;
+            this.last = null;
+        }
+    }
+
+    private final class IteratorEntry implements Entry<UUID, V> {
+
+        private final UUID key;
+        private       V    value;
+
+        @SuppressWarnings("unchecked")
+        private IteratorEntry(UUID key, Object value) {
+            this.key = key;
+            this.value = (V) value;
+        }
+
+        @Override
+        public UUID getKey() {
+            return this.key;
+        }
+
+        @Override
+        public V getValue() {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            UuidHashMap.this.put(this.key, value);
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && this.key.equals(e.getKey()) && this.value.equals(e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.key.hashCode() ^ this.value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+}
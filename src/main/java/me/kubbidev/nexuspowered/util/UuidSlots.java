@@ -0,0 +1,116 @@
+package me.kubbidev.nexuspowered.util;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The open addressing shared by {@link UuidHashMap} and {@link UuidExpiringSet}.
+ *
+ * <p>Tables store the two halves of each uuid inline in a {@code long[]}, where slot {@code i} occupies indexes
+ * {@code 2i} and {@code 2i + 1}, and are probed linearly, with backward-shift deletion. Maps keep their values in a
+ * parallel array, and a null value marks an empty slot. Sets have no values array, so the nil uuid marks an empty
+ * slot, and must be tracked separately by the caller.</p>
+ */
+final class UuidSlots {
+
+    private UuidSlots() {
+        throw new UnsupportedOperationException("This class cannot be instantiated");
+    }
+
+    /**
+     * Called as backward-shift deletion moves an entry into an earlier slot, before the move.
+     */
+    @FunctionalInterface
+    interface MoveListener {
+
+        void moved(int from, int to);
+    }
+
+    static int capacity(long[] keys) {
+        return keys.length >>> 1;
+    }
+
+    static boolean isEmpty(long[] keys, @Nullable Object[] values, int slot) {
+        if (values != null) {
+            return values[slot] == null;
+        }
+        return keys[slot << 1] == 0 && keys[(slot << 1) + 1] == 0;
+    }
+
+    /**
+     * Finds the slot holding the uuid, or returns -1 if it isn't present.
+     */
+    static int find(long[] keys, @Nullable Object[] values, long msb, long lsb) {
+        int capacity = capacity(keys);
+        int mask = capacity - 1;
+        int i = hash(msb, lsb) & mask;
+        // bounded, in case the arrays are changing beneath an optimistic reader
+        for (int n = 0; n < capacity; n++) {
+            if (isEmpty(keys, values, i)) {
+                return -1;
+            }
+            if (keys[i << 1] == msb && keys[(i << 1) + 1] == lsb) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Stores a uuid which isn't present in the first free slot of its probe sequence, and returns the slot. The
+     * table must have a free slot, and a map's caller must then fill in the value.
+     */
+    static int place(long[] keys, @Nullable Object[] values, long msb, long lsb) {
+        int mask = capacity(keys) - 1;
+        int i = hash(msb, lsb) & mask;
+        while (!isEmpty(keys, values, i)) {
+            i = (i + 1) & mask;
+        }
+        keys[i << 1] = msb;
+        keys[(i << 1) + 1] = lsb;
+        return i;
+    }
+
+    /**
+     * Empties the given slot, shifting later entries of its probe sequence back to fill the gap.
+     *
+     * @param listener notified of each entry moved, if not null
+     */
+    static void delete(long[] keys, @Nullable Object[] values, int slot, @Nullable MoveListener listener) {
+        int mask = capacity(keys) - 1;
+        int i = slot;
+        int j = slot;
+        while (true) {
+            j = (j + 1) & mask;
+            if (isEmpty(keys, values, j)) {
+                break;
+            }
+            long msb = keys[j << 1];
+            long lsb = keys[(j << 1) + 1];
+            // move the entry back into the gap, unless its ideal slot lies in (i, j]
+            int ideal = hash(msb, lsb) & mask;
+            boolean reachable = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+            if (!reachable) {
+                if (listener != null) {
+                    listener.moved(j, i);
+                }
+                keys[i << 1] = msb;
+                keys[(i << 1) + 1] = lsb;
+                if (values != null) {
+                    values[i] = values[j];
+                }
+                i = j;
+            }
+        }
+        keys[i << 1] = 0;
+        keys[(i << 1) + 1] = 0;
+        if (values != null) {
+            values[i] = null;
+        }
+    }
+
+    static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}